@@ -0,0 +1,67 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class BenchmarkBundles {
+    private static final String[] WORDS = {
+            "certificate", "signing", "account", "document", "please", "the", "your", "has", "been",
+            "expired", "renew", "request", "organization", "validation", "{0}", "{1}", "<b>", "</b>", "seats"
+    };
+
+    private BenchmarkBundles() {
+    }
+
+    static List<PropertyEntry> generate(int keyCount, long seed) {
+        Random random = new Random(seed);
+        List<PropertyEntry> entries = new ArrayList<>(keyCount + keyCount / 5);
+        for (int i = 0; i < keyCount; i++) {
+            if (i % 25 == 0) {
+                entries.add(new PropertyEntry("", List.of(""), PropertyEntry.EntryType.EMPTY_LINE));
+                String comment = "#Section " + i;
+                entries.add(new PropertyEntry(comment, List.of(comment), PropertyEntry.EntryType.COMMENT));
+            }
+            String key = "bench.key." + i;
+            if (random.nextInt(100) < 15) {
+                List<String> lines = new ArrayList<>();
+                int lineCount = 2 + random.nextInt(4);
+                for (int line = 0; line < lineCount; line++) {
+                    String text = sentence(random, 6 + random.nextInt(8));
+                    String prefix = line == 0 ? key + "=" : "  ";
+                    lines.add(prefix + text + (line < lineCount - 1 ? " \\" : ""));
+                }
+                entries.add(new PropertyEntry(key, lines, PropertyEntry.EntryType.PROPERTY));
+            } else {
+                entries.add(new PropertyEntry(key, List.of(key + "=" + sentence(random, 2 + random.nextInt(10))), PropertyEntry.EntryType.PROPERTY));
+            }
+        }
+        return entries;
+    }
+
+    static List<PropertyEntry> mutate(List<PropertyEntry> entries, int changePercent, long seed) {
+        Random random = new Random(seed);
+        List<PropertyEntry> mutated = new ArrayList<>(entries.size());
+        for (PropertyEntry entry : entries) {
+            if (entry.type == PropertyEntry.EntryType.PROPERTY && random.nextInt(100) < changePercent) {
+                List<String> lines = new ArrayList<>(entry.lines);
+                lines.set(0, lines.get(0) + " updated");
+                mutated.add(new PropertyEntry(entry.key, lines, entry.type));
+            } else {
+                mutated.add(entry);
+            }
+        }
+        return mutated;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.append('.').toString();
+    }
+}
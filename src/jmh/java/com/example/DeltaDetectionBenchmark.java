@@ -0,0 +1,50 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DeltaDetectionBenchmark {
+
+    @Param({"1000", "100000"})
+    public int keyCount;
+
+    private List<PropertyEntry> previousEntries;
+    private List<PropertyEntry> currentEntries;
+    private BundleIndex previousIndex;
+    private BundleIndex currentIndex;
+
+    @Setup
+    public void setUp() {
+        previousEntries = BenchmarkBundles.generate(keyCount, 42L);
+        currentEntries = BenchmarkBundles.mutate(previousEntries, 5, 7L);
+        previousIndex = BundleIndex.of(previousEntries);
+        currentIndex = BundleIndex.of(currentEntries);
+    }
+
+    @Benchmark
+    public BundleIndex buildIndex() {
+        return BundleIndex.of(currentEntries);
+    }
+
+    @Benchmark
+    public BundleDelta computeDelta() {
+        return BundleDelta.compute(previousIndex, currentIndex);
+    }
+
+    @Benchmark
+    public BundleDelta indexAndComputeDelta() {
+        return BundleDelta.compute(BundleIndex.of(previousEntries), BundleIndex.of(currentEntries));
+    }
+}
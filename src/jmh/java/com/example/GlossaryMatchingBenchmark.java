@@ -0,0 +1,95 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GlossaryMatchingBenchmark {
+    private static final String[] WORDS = {
+            "certificate", "signing", "account", "document", "seats", "organization", "validation", "passcode",
+            "one-time", "DigiCert", "PIN", "root", "threshold", "consumption", "units", "request", "renew", "trust"
+    };
+
+    @Param({"1000", "50000"})
+    public int termCount;
+
+    private List<String> terms;
+    private GlossaryIndex index;
+    private LocalGlossary glossary;
+    private List<String> values;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(7);
+        Set<String> uniqueTerms = new LinkedHashSet<>();
+        while (uniqueTerms.size() < termCount) {
+            int words = 1 + random.nextInt(4);
+            StringBuilder term = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+            for (int i = 1; i < words; i++) {
+                term.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            if (words > 2) {
+                term.append(' ').append(uniqueTerms.size());
+            }
+            uniqueTerms.add(term.toString());
+        }
+        terms = new ArrayList<>(uniqueTerms);
+        index = new GlossaryIndex(terms);
+
+        Path csv = Files.createTempFile("glossary-benchmark", ".csv");
+        StringBuilder content = new StringBuilder("EN,DE\n");
+        for (String term : terms) {
+            content.append(term).append(',').append(term.toUpperCase()).append('\n');
+        }
+        Files.writeString(csv, content, StandardCharsets.UTF_8);
+        glossary = LocalGlossary.load(csv, "de");
+        Files.delete(csv);
+
+        values = new ArrayList<>();
+        for (PropertyEntry entry : BenchmarkBundles.generate(1000, 11)) {
+            if (entry.type == PropertyEntry.EntryType.PROPERTY) {
+                values.add(TranslationService.cleanContent(TranslationService.extractContent(String.join("\n", entry.lines))));
+            }
+        }
+    }
+
+    @Benchmark
+    public GlossaryIndex buildIndex() {
+        return new GlossaryIndex(terms);
+    }
+
+    // Per operation: all values of a 1000-key bundle.
+    @Benchmark
+    public void findAll(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(index.findAll(value));
+        }
+    }
+
+    @Benchmark
+    public void protect(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(glossary.protect(value));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PropertiesFileBenchmark {
+
+    @Param({"1000", "100000"})
+    public int keyCount;
+
+    private Path workDirectory;
+    private Path bundleFile;
+    private Path outputFile;
+    private List<PropertyEntry> entries;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDirectory = Files.createTempDirectory("properties-benchmark");
+        bundleFile = workDirectory.resolve("messages_en.properties");
+        outputFile = workDirectory.resolve("messages_xx.properties");
+        entries = BenchmarkBundles.generate(keyCount, 42L);
+        FileIO.writePropertiesUtf8(entries, bundleFile.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<PropertyEntry> readPropertiesFile() throws IOException {
+        return FileIO.readPropertiesFile(bundleFile.toString());
+    }
+
+    @Benchmark
+    public void streamPropertiesFile(Blackhole blackhole) throws IOException {
+        try (Stream<PropertyEntry> stream = FileIO.streamPropertiesFile(bundleFile.toString())) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void writePropertiesUtf8() throws IOException {
+        FileIO.writePropertiesUtf8(entries, outputFile.toString());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TranslationFormattingBenchmark {
+
+    @Param({"single", "multiline"})
+    public String shape;
+
+    private String key;
+    private String content;
+    private String translatedText;
+    private String indentedLine;
+
+    @Setup
+    public void setUp() {
+        String value;
+        if ("single".equals(shape)) {
+            value = "email.subject=Your certificate {0} has been issued.";
+            translatedText = "Ihr Zertifikat {0} wurde ausgestellt.";
+        } else {
+            value = "email.body=Your certificate request for {0} has been approved \\\n"
+                    + "  by your organization administrator. Please sign in \\\n"
+                    + "  to download the certificate and install it on your device.";
+            translatedText = "Ihre Zertifikatsanfrage für {0} wurde von Ihrem Organisationsadministrator genehmigt. "
+                    + "Bitte melden Sie sich an, um das Zertifikat herunterzuladen und auf Ihrem Gerät zu installieren.";
+        }
+        key = TranslationService.extractKey(value);
+        content = TranslationService.extractContent(value);
+        indentedLine = "        indented continuation line";
+    }
+
+    @Benchmark
+    public String formatTranslatedText() {
+        return TranslationService.formatTranslatedText(key, content, translatedText);
+    }
+
+    @Benchmark
+    public String getLeadingWhitespace() {
+        return TranslationService.getLeadingWhitespace(indentedLine);
+    }
+
+    @Benchmark
+    public String cleanContent() {
+        return TranslationService.cleanContent(content);
+    }
+}
@@ -0,0 +1,298 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+// Drives the real command-line flow (GoogleTranslateService.run) against the simulated backend with a
+// synthetic bundle and reports throughput, backend request latency, peak heap and GC time per scenario.
+// Backend behaviour is tuned with the usual simulated.* and translation.* system properties.
+public class LoadTestHarness {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestHarness.class);
+    private static final List<String> LANGUAGES = List.of(
+            "de", "fr", "es", "it", "pt", "nl", "sv", "da", "fi", "nb", "pl", "cs", "sk", "hu", "ro", "bg", "el", "tr", "ru", "uk",
+            "hr", "sl", "sr", "lt", "lv", "et", "ja", "ko", "zh", "th", "vi", "id", "ms", "hi", "bn", "ta", "te", "ar", "he", "fa");
+
+    public static void main(String[] args) throws Exception {
+        int keyCount = 10000;
+        int languageCount = 5;
+        List<String> scenarios = List.of("full", "delta", "glossary");
+        Path workDir = Paths.get("build/loadtest");
+        Path reportPath = Paths.get("build/reports/loadtest/results.json");
+        long seed = 1;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--keys" -> keyCount = Integer.parseInt(args[i + 1]);
+                case "--languages" -> languageCount = Math.min(LANGUAGES.size(), Integer.parseInt(args[i + 1]));
+                case "--scenarios" -> scenarios = Arrays.asList(args[i + 1].split(","));
+                case "--work-dir" -> workDir = Paths.get(args[i + 1]);
+                case "--report" -> reportPath = Paths.get(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        List<String> languages = LANGUAGES.subList(0, languageCount);
+        Path sourcePath = workDir.resolve("messages_en.properties");
+        deleteRecursively(workDir);
+        Files.createDirectories(workDir);
+
+        System.setProperty("translation.backend", "simulated");
+        System.setProperty("file.input.path", sourcePath.toString());
+        System.setProperty("file.output.path.format", workDir.resolve("out/messages_%s.properties").toString());
+        System.setProperty("translation.manifest.path.format", workDir.resolve("state/manifest_%s.tsv").toString());
+        System.setProperty("translation.glossary.snapshot.path.format", workDir.resolve("state/glossary_%s.csv").toString());
+        System.setProperty("translation.journal.path.format", workDir.resolve("state/journal_%s.log").toString());
+        System.setProperty("translation.memory.path", workDir.resolve("tm/translation-memory.tsv").toString());
+        System.setProperty("glossary.local.path.format", workDir.resolve("glossaries/glossaries_%s.csv").toString());
+        System.setProperty("glossary.registry.path", workDir.resolve("tm/glossary-registry.tsv").toString());
+        System.setProperty("metrics.export.path", workDir.resolve("metrics/translation-metrics.prom").toString());
+        ConfigManager configManager = new ConfigManager();
+
+        LatencyRecorder requestLatency = new LatencyRecorder();
+        LatencyRecorder glossaryLatency = new LatencyRecorder();
+        TranslationBackend translationBackend = new TimedTranslationBackend(new SimulatedTranslationBackend(configManager), requestLatency);
+        GlossaryBackend glossaryBackend = new TimedGlossaryBackend(new SimulatedGlossaryBackend(configManager), glossaryLatency);
+
+        long start = System.nanoTime();
+        List<PropertyEntry> source = SyntheticBundleGenerator.generate(keyCount, seed);
+        FileIO.writePropertiesUtf8(source, sourcePath.toString());
+        for (String language : languages) {
+            SyntheticBundleGenerator.writeGlossary(Paths.get(configManager.getLocalGlossaryPath(language)), language, seed);
+        }
+        logger.info("Generated {} keys and {} glossaries under {} in {} ms",
+                keyCount, languages.size(), workDir, (System.nanoTime() - start) / 1_000_000);
+
+        List<ScenarioResult> results = new ArrayList<>();
+        for (String scenario : scenarios) {
+            List<String> runArgs = new ArrayList<>();
+            long units;
+            switch (scenario) {
+                case "full" -> {
+                    runArgs.addAll(languages);
+                    units = propertyCount(source) * languages.size();
+                }
+                case "delta" -> {
+                    source = SyntheticBundleGenerator.mutate(source, 2, 1, 1, seed + 1);
+                    FileIO.writePropertiesUtf8(source, sourcePath.toString());
+                    runArgs.addAll(languages);
+                    runArgs.add("--delta");
+                    units = propertyCount(source) * languages.size();
+                }
+                case "glossary" -> {
+                    for (String language : languages) {
+                        String glossaryPath = configManager.getLocalGlossaryPath(language);
+                        SyntheticBundleGenerator.writeGlossary(Paths.get(glossaryPath), language, seed + 2);
+                        runArgs.addAll(List.of(language, "updateGlossary", glossaryPath));
+                    }
+                    units = languages.size();
+                }
+                default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+            }
+
+            logger.info("Running {} scenario for {} language(s)", scenario, languages.size());
+            results.add(runScenario(scenario, runArgs.toArray(new String[0]), units, configManager,
+                    translationBackend, glossaryBackend, requestLatency, glossaryLatency));
+        }
+
+        report(results, keyCount, languages.size(), reportPath);
+    }
+
+    private static ScenarioResult runScenario(String name, String[] args, long units, ConfigManager configManager,
+                                              TranslationBackend translationBackend, GlossaryBackend glossaryBackend,
+                                              LatencyRecorder requestLatency, LatencyRecorder glossaryLatency) throws Exception {
+        System.gc();
+        requestLatency.reset();
+        glossaryLatency.reset();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long gcTimeBefore = gcTimeMillis();
+        long gcCountBefore = gcCount();
+
+        long start = System.nanoTime();
+        GoogleTranslateService.run(args, configManager, translationBackend, glossaryBackend);
+        long elapsedNanos = System.nanoTime() - start;
+
+        // Sum of per-pool peaks; pools peak at different moments, so this is an upper bound on the real peak.
+        long peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        LatencyRecorder latency = name.equals("glossary") ? glossaryLatency : requestLatency;
+        return new ScenarioResult(name, elapsedNanos / 1_000_000, units, units * 1e9 / Math.max(1, elapsedNanos),
+                latency.count(), requestLatency.segments(), latency.percentileMillis(50), latency.percentileMillis(99),
+                peakHeapBytes / (1024 * 1024), gcTimeMillis() - gcTimeBefore, gcCount() - gcCountBefore);
+    }
+
+    private static void report(List<ScenarioResult> results, int keyCount, int languageCount, Path reportPath) throws IOException {
+        logger.info(String.format(Locale.ROOT, "%-9s %10s %12s %12s %10s %10s %10s %10s %10s %8s",
+                "scenario", "time ms", "units", "units/s", "requests", "segments", "p50 ms", "p99 ms", "heap MB", "gc ms"));
+        StringBuilder json = new StringBuilder("{\n  \"keys\": ").append(keyCount)
+                .append(",\n  \"languages\": ").append(languageCount)
+                .append(",\n  \"scenarios\": [");
+        for (int i = 0; i < results.size(); i++) {
+            ScenarioResult result = results.get(i);
+            logger.info(String.format(Locale.ROOT, "%-9s %10d %12d %12.1f %10d %10d %10.1f %10.1f %10d %8d",
+                    result.name(), result.elapsedMillis(), result.units(), result.unitsPerSecond(), result.requests(),
+                    result.segments(), result.p50Millis(), result.p99Millis(), result.peakHeapMegabytes(), result.gcMillis()));
+            json.append(i == 0 ? "\n" : ",\n").append(String.format(Locale.ROOT,
+                    "    {\"scenario\": \"%s\", \"elapsedMillis\": %d, \"units\": %d, \"unitsPerSecond\": %.1f, \"requests\": %d, "
+                            + "\"segments\": %d, \"p50Millis\": %.1f, \"p99Millis\": %.1f, \"peakHeapMegabytes\": %d, \"gcMillis\": %d, \"gcCount\": %d}",
+                    result.name(), result.elapsedMillis(), result.units(), result.unitsPerSecond(), result.requests(), result.segments(),
+                    result.p50Millis(), result.p99Millis(), result.peakHeapMegabytes(), result.gcMillis(), result.gcCount()));
+        }
+        json.append("\n  ]\n}\n");
+        logger.info("Units are key-language pairs for translation scenarios and glossaries for the glossary scenario; "
+                + "latency is per backend request (glossary operations for the glossary scenario)");
+
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        Files.writeString(reportPath, json, StandardCharsets.UTF_8);
+        logger.info("Wrote load test report to {}", reportPath);
+    }
+
+    private static long propertyCount(List<PropertyEntry> entries) {
+        return entries.stream().filter(entry -> entry.type == PropertyEntry.EntryType.PROPERTY).count();
+    }
+
+    private static long gcTimeMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private record ScenarioResult(String name, long elapsedMillis, long units, double unitsPerSecond, long requests, long segments,
+                                  double p50Millis, double p99Millis, long peakHeapMegabytes, long gcMillis, long gcCount) {
+    }
+
+    private static final class LatencyRecorder {
+        private long[] samples = new long[1024];
+        private int count;
+        private long segments;
+
+        synchronized void record(long nanos, int segmentCount) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+            segments += segmentCount;
+        }
+
+        synchronized void reset() {
+            count = 0;
+            segments = 0;
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long segments() {
+            return segments;
+        }
+
+        synchronized double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * count) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    private static final class TimedTranslationBackend implements TranslationBackend {
+        private final TranslationBackend delegate;
+        private final LatencyRecorder recorder;
+
+        private TimedTranslationBackend(TranslationBackend delegate, LatencyRecorder recorder) {
+            this.delegate = delegate;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public CompletableFuture<List<String>> translateAsync(List<String> contents, String targetLanguage, String glossaryName, long deadlineMillis) {
+            long start = System.nanoTime();
+            return delegate.translateAsync(contents, targetLanguage, glossaryName, deadlineMillis)
+                    .whenComplete((translations, failure) -> recorder.record(System.nanoTime() - start, contents.size()));
+        }
+    }
+
+    private static final class TimedGlossaryBackend implements GlossaryBackend {
+        private final GlossaryBackend delegate;
+        private final LatencyRecorder recorder;
+
+        private TimedGlossaryBackend(GlossaryBackend delegate, LatencyRecorder recorder) {
+            this.delegate = delegate;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public String glossaryName(String targetLanguage) {
+            return delegate.glossaryName(targetLanguage);
+        }
+
+        @Override
+        public GlossaryInfo describeGlossary(String targetLanguage) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return delegate.describeGlossary(targetLanguage);
+            } finally {
+                recorder.record(System.nanoTime() - start, 0);
+            }
+        }
+
+        @Override
+        public void uploadGlossary(Path glossaryFile, String targetLanguage) throws IOException {
+            long start = System.nanoTime();
+            try {
+                delegate.uploadGlossary(glossaryFile, targetLanguage);
+            } finally {
+                recorder.record(System.nanoTime() - start, 0);
+            }
+        }
+
+        @Override
+        public CompletableFuture<Void> createGlossaryAsync(String targetLanguage) {
+            long start = System.nanoTime();
+            return delegate.createGlossaryAsync(targetLanguage)
+                    .whenComplete((result, failure) -> recorder.record(System.nanoTime() - start, 0));
+        }
+
+        @Override
+        public CompletableFuture<Void> deleteGlossaryAsync(String targetLanguage) {
+            long start = System.nanoTime();
+            return delegate.deleteGlossaryAsync(targetLanguage)
+                    .whenComplete((result, failure) -> recorder.record(System.nanoTime() - start, 0));
+        }
+    }
+}
\ No newline at end of file
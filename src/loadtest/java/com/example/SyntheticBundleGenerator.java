@@ -0,0 +1,176 @@
+package com.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Generates source bundles shaped like the real messages_en.properties: sectioned with comments and blank
+// lines, mostly short labels with a tail of long paragraphs, backslash continuations on long values, and
+// {0}/{1} placeholders and inline markup. Glossary terms are drawn from the same vocabulary so glossaries match.
+final class SyntheticBundleGenerator {
+    private static final String[] MODULES = {
+            "csc", "email", "account", "signing", "billing", "admin", "audit", "certificate", "document", "profile"
+    };
+    private static final String[] FEATURES = {
+            "online", "offline", "otp", "footer", "header", "error", "warning", "button", "dialog", "settings", "report"
+    };
+    private static final String[] SUFFIXES = {"label", "title", "description", "message", "tooltip", "placeholder"};
+    private static final String[] VOCABULARY = {
+            "the", "your", "has", "been", "will", "be", "to", "of", "for", "and", "please", "enter", "select", "click",
+            "here", "account", "certificate", "document", "signature", "request", "order", "organization", "user",
+            "password", "passcode", "expired", "renew", "validation", "pending", "approved", "rejected", "seats",
+            "units", "threshold", "reached", "consumption", "settings", "profile", "email", "address", "sent",
+            "phone", "authenticator", "download", "upload", "file", "report", "privacy", "policy", "support",
+            "contact", "administrator", "successfully", "failed", "again", "later", "required", "invalid", "field"
+    };
+    private static final String[] TERMS = {
+            "One-time passcode", "Document Signing", "Signing units", "Certificate authority", "Private key",
+            "Trust Lifecycle", "Seat consumption", "Validation request", "Organization validation", "Signature field",
+            "Remote signing", "Hardware token", "Timestamp authority", "Certificate profile", "Key recovery"
+    };
+
+    private SyntheticBundleGenerator() {
+    }
+
+    static List<PropertyEntry> generate(int keyCount, long seed) {
+        Random random = new Random(seed);
+        List<PropertyEntry> entries = new ArrayList<>(keyCount + keyCount / 10);
+        int nextSection = 0;
+        for (int i = 0; i < keyCount; i++) {
+            if (i == nextSection) {
+                if (i > 0) {
+                    entries.add(new PropertyEntry("", List.of(""), PropertyEntry.EntryType.EMPTY_LINE));
+                }
+                String comment = "# " + capitalize(sentence(random, 2 + random.nextInt(4), false));
+                entries.add(new PropertyEntry(comment, List.of(comment), PropertyEntry.EntryType.COMMENT));
+                nextSection = i + 20 + random.nextInt(40);
+            } else if (random.nextInt(100) < 3) {
+                String comment = "#" + sentence(random, 3 + random.nextInt(6), false);
+                entries.add(new PropertyEntry(comment, List.of(comment), PropertyEntry.EntryType.COMMENT));
+            }
+            entries.add(property(random, keyName(random, i), 0));
+        }
+        return entries;
+    }
+
+    // Returns a new revision of the bundle: a share of values is reworded, some keys are removed and new
+    // keys are appended to random sections, as a typical release does.
+    static List<PropertyEntry> mutate(List<PropertyEntry> entries, int changePercent, int addPercent, int removePercent, long seed) {
+        Random random = new Random(seed);
+        List<PropertyEntry> mutated = new ArrayList<>(entries.size() + entries.size() * addPercent / 100);
+        int added = 0;
+        for (PropertyEntry entry : entries) {
+            if (entry.type != PropertyEntry.EntryType.PROPERTY) {
+                mutated.add(entry);
+                continue;
+            }
+            int roll = random.nextInt(100);
+            if (roll < removePercent) {
+                continue;
+            }
+            mutated.add(roll < removePercent + changePercent ? property(random, entry.key, 1) : entry);
+            if (random.nextInt(100) < addPercent) {
+                mutated.add(property(random, entry.key + ".added" + added++, 0));
+            }
+        }
+        return mutated;
+    }
+
+    static void writeGlossary(Path glossaryPath, String targetLanguage, long seed) throws IOException {
+        Random random = new Random(seed);
+        Files.createDirectories(glossaryPath.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(glossaryPath, StandardCharsets.UTF_8)) {
+            writer.write("EN," + targetLanguage.toUpperCase());
+            writer.newLine();
+            for (String term : TERMS) {
+                if (random.nextInt(100) < 90) {
+                    writer.write(term + "," + glossaryTranslation(term, targetLanguage));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    private static String glossaryTranslation(String term, String targetLanguage) {
+        String pseudoTranslation = SimulatedTranslationBackend.pseudoTranslate(term, targetLanguage);
+        return pseudoTranslation.substring(pseudoTranslation.indexOf(' ') + 1);
+    }
+
+    private static String keyName(Random random, int index) {
+        return MODULES[random.nextInt(MODULES.length)] + "." + FEATURES[random.nextInt(FEATURES.length)]
+                + "." + SUFFIXES[random.nextInt(SUFFIXES.length)] + "." + index;
+    }
+
+    private static PropertyEntry property(Random random, String key, int revision) {
+        int size = random.nextInt(100);
+        int words = size < 45 ? 1 + random.nextInt(3) : size < 85 ? 5 + random.nextInt(11) : 20 + random.nextInt(41);
+        String text = sentence(random, words, words > 3);
+        if (words > 1 && random.nextInt(100) < 25) {
+            text = insertPlaceholders(random, text);
+        }
+        if (random.nextInt(100) < 5) {
+            text = "<b>" + text + "</b>";
+        }
+        if (revision > 0) {
+            text = text + " (v" + (revision + 1) + ")";
+        }
+
+        List<String> lines = new ArrayList<>();
+        if (words >= 12 && random.nextInt(100) < 60) {
+            String[] parts = text.split(" ");
+            StringBuilder line = new StringBuilder(key).append('=');
+            int lineWords = 0;
+            int wordsPerLine = 6 + random.nextInt(7);
+            for (int i = 0; i < parts.length; i++) {
+                if (lineWords > 0) {
+                    line.append(' ');
+                }
+                line.append(parts[i]);
+                lineWords++;
+                if (lineWords == wordsPerLine && i < parts.length - 1) {
+                    lines.add(line.append(" \\").toString());
+                    line = new StringBuilder("  ");
+                    lineWords = 0;
+                }
+            }
+            lines.add(line.toString());
+        } else {
+            lines.add(key + "=" + text);
+        }
+        return new PropertyEntry(key, lines, PropertyEntry.EntryType.PROPERTY);
+    }
+
+    private static String insertPlaceholders(Random random, String text) {
+        String[] parts = text.split(" ");
+        parts[random.nextInt(parts.length)] = "{0}";
+        if (parts.length > 4 && random.nextInt(100) < 30) {
+            parts[random.nextInt(parts.length)] = "{1}";
+        }
+        return String.join(" ", parts);
+    }
+
+    private static String sentence(Random random, int words, boolean punctuate) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            if (random.nextInt(100) < 4) {
+                builder.append(TERMS[random.nextInt(TERMS.length)]);
+            } else {
+                builder.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            }
+        }
+        String text = capitalize(builder.toString());
+        return punctuate ? text + "." : text;
+    }
+
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
\ No newline at end of file
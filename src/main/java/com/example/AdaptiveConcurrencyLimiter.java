@@ -0,0 +1,59 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    private static final double DECREASE_FACTOR = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+    }
+
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= (int) limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    // A burst of calls sent under the old limit is throttled together, so only a call started after the last decrease
+    // (by System.nanoTime) lowers the limit again: at most one decrease per round trip.
+    public synchronized void release(boolean throttled, long startNanos) {
+        inFlight--;
+        if (throttled && startNanos - lastDecreaseNanos < 0) {
+            logger.debug("Translation quota throttled a call started before the last decrease; keeping the concurrency limit at {}", (int) limit);
+        } else if (throttled) {
+            lastDecreaseNanos = System.nanoTime();
+            double previous = limit;
+            limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+            logger.warn("Translation quota throttled. Reducing concurrency limit from {} to {}", (int) previous, (int) limit);
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        notifyAll();
+    }
+
+    // Gives back a slot that was acquired but never used for a call, leaving the limit as it is.
+    public synchronized void releaseUnused() {
+        inFlight--;
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
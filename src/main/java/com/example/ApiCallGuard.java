@@ -0,0 +1,371 @@
+package com.example;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class ApiCallGuard implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ApiCallGuard.class);
+
+    private final RateLimiter characterLimiter;
+    private final RateLimiter requestLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final RequestHedger hedger;
+    private final FairScheduler scheduler = new FairScheduler();
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "translate-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Thread dispatcher;
+    // Calls not yet answered, wherever they are: queued, waiting for a retry or hedge, or in flight.
+    private final Set<Call<?>> outstandingCalls = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    public ApiCallGuard(ConfigManager configManager) {
+        this(new RateLimiter(configManager.getRateLimitCharactersPerSecond()),
+                new RateLimiter(configManager.getRateLimitRequestsPerSecond()),
+                new AdaptiveConcurrencyLimiter(configManager.getConcurrencyInitialLimit(),
+                        configManager.getConcurrencyMinLimit(), configManager.getConcurrencyMaxLimit()),
+                configManager.getRetryMaxAttempts(),
+                configManager.getRetryInitialBackoffMillis(),
+                configManager.getRetryMaxBackoffMillis(),
+                configManager.getHedgeBudget() > 0 ? new RequestHedger(configManager.getHedgePercentile(),
+                        configManager.getHedgeBudget(), configManager.getHedgeMinSamples()) : null);
+    }
+
+    // A null hedger never sends a call twice.
+    public ApiCallGuard(RateLimiter characterLimiter, RateLimiter requestLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                        int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, RequestHedger hedger) {
+        this.characterLimiter = characterLimiter;
+        this.requestLimiter = requestLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.hedger = hedger;
+        this.dispatcher = new Thread(this::dispatch, "translate-dispatch");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    public <T> CompletableFuture<T> callAsync(int characters, Supplier<CompletableFuture<T>> apiCall) {
+        return callAsync("default", 1, characters, apiCall, null);
+    }
+
+    // Calls are queued per flow and started in weighted fair order as quota allows; see FairScheduler. The API call
+    // must be idempotent: an attempt still unanswered after the hedger's delay is sent again and the first answer wins.
+    public <T> CompletableFuture<T> callAsync(String flow, double weight, int characters, Supplier<CompletableFuture<T>> apiCall,
+                                              HedgeListener listener) {
+        Call<T> call = new Call<>(flow, weight, characters, apiCall, listener, new CompletableFuture<>());
+        outstandingCalls.add(call);
+        call.result().whenComplete((value, error) -> outstandingCalls.remove(call));
+        // Registered before the check, so a concurrent close either fails the call or this sees the flag.
+        if (closed) {
+            call.result().completeExceptionally(new IllegalStateException("API call guard closed"));
+            return call.result();
+        }
+        enqueue(call, 1);
+        return call.result();
+    }
+
+    private <T> void enqueue(Call<T> call, int attempt) {
+        scheduler.submit(call.flow(), call.weight(), call.characters(), () -> attemptAsync(call, attempt));
+    }
+
+    // The only thread that takes quota. A concurrency slot is taken before a call is picked, so the call that gets
+    // it is the fairest one queued at the moment it can actually start.
+    private void dispatch() {
+        while (true) {
+            try {
+                scheduler.awaitTask();
+                concurrencyLimiter.acquire();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                scheduler.poll().run();
+            } catch (RuntimeException e) {
+                logger.error("Unexpected failure dispatching a translation API call: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    // Runs on the dispatcher, holding a concurrency slot.
+    private <T> void attemptAsync(Call<T> call, int attempt) {
+        if (call.result().isDone()) {
+            // Cancelled while queued.
+            concurrencyLimiter.releaseUnused();
+            return;
+        }
+        try {
+            acquireQuota(call.characters());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            concurrencyLimiter.releaseUnused();
+            call.result().completeExceptionally(new IOException("Interrupted while waiting for translation quota", e));
+            return;
+        }
+
+        Attempt attemptState = new Attempt(attempt);
+        launch(call, attemptState, false);
+        if (hedger == null) {
+            return;
+        }
+        hedger.requestSent();
+        long delayNanos = hedger.hedgeDelayNanos();
+        if (delayNanos >= 0) {
+            retryScheduler.schedule(() -> hedge(call, attemptState), delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Runs on the retry scheduler once an attempt has been waiting for longer than the hedge delay.
+    private <T> void hedge(Call<T> call, Attempt attempt) {
+        synchronized (attempt) {
+            if (attempt.finished || call.result().isDone()) {
+                return;
+            }
+        }
+        if (!hedger.tryAcquire()) {
+            if (call.listener() != null) {
+                call.listener().hedgeDenied();
+            }
+            return;
+        }
+        // A flow of its own starts at the current virtual time, so the hedge does not queue behind its own flow's backlog.
+        scheduler.submit(call.flow() + "/hedge", call.weight(), call.characters(), () -> {
+            synchronized (attempt) {
+                if (attempt.finished || call.result().isDone()) {
+                    concurrencyLimiter.releaseUnused();
+                    return;
+                }
+            }
+            try {
+                acquireQuota(call.characters());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                concurrencyLimiter.releaseUnused();
+                return;
+            }
+            launch(call, attempt, true);
+        });
+    }
+
+    private void acquireQuota(int characters) throws InterruptedException {
+        characterLimiter.acquire(characters);
+        requestLimiter.acquire(1);
+    }
+
+    // Sends the primary call of an attempt or its hedge; holds a concurrency slot that the answer releases.
+    private <T> void launch(Call<T> call, Attempt attempt, boolean hedge) {
+        synchronized (attempt) {
+            if (hedge && attempt.finished) {
+                concurrencyLimiter.releaseUnused();
+                return;
+            }
+            attempt.outstanding++;
+            if (hedge && call.listener() != null) {
+                call.listener().hedgeSent();
+            }
+        }
+
+        long start = System.nanoTime();
+        if (!hedge) {
+            attempt.sentAt = start;
+        }
+        CompletableFuture<T> future;
+        try {
+            future = call.apiCall().get();
+        } catch (RuntimeException e) {
+            settle(call, attempt, hedge, start, null, e);
+            return;
+        }
+        boolean lost;
+        synchronized (attempt) {
+            if (hedge) {
+                attempt.hedgeCall = future;
+            } else {
+                attempt.primaryCall = future;
+            }
+            // While this call is outstanding the attempt can only have finished by the other call succeeding.
+            lost = attempt.finished;
+        }
+        future.whenComplete((value, error) -> settle(call, attempt, hedge, start, value, error));
+        if (lost) {
+            future.cancel(true);
+        }
+    }
+
+    // The first success answers the attempt and cancels the other call, so a stalled loser gives back its concurrency
+    // slot and backend request at once. A failure only fails the attempt once no other call of it is left in flight.
+    private <T> void settle(Call<T> call, Attempt attempt, boolean hedge, long start, T value, Throwable error) {
+        long now = System.nanoTime();
+        Throwable failure = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        StatusCode.Code code = failure instanceof ApiException apiException ? apiException.getStatusCode().getCode() : null;
+        if (failure instanceof CancellationException) {
+            // Says nothing about the backend's capacity.
+            concurrencyLimiter.releaseUnused();
+        } else {
+            concurrencyLimiter.release(code == StatusCode.Code.RESOURCE_EXHAUSTED, start);
+        }
+        if (failure == null && hedger != null) {
+            hedger.record(now - start);
+        }
+
+        boolean answer = false;
+        boolean fail = false;
+        boolean report = false;
+        long answerNanos;
+        long primaryNanos;
+        boolean hedgeWon;
+        CompletableFuture<?> loser = null;
+        synchronized (attempt) {
+            attempt.outstanding--;
+            if (!hedge) {
+                // For a primary cancelled by its hedge, a lower bound of the latency it would have had.
+                attempt.primaryNanos = now - attempt.sentAt;
+            }
+            if (!attempt.finished && (failure == null || attempt.outstanding == 0)) {
+                attempt.finished = true;
+                attempt.answerNanos = now - attempt.sentAt;
+                attempt.hedgeWon = hedge;
+                answer = failure == null;
+                fail = failure != null;
+                loser = answer && attempt.outstanding > 0 ? (hedge ? attempt.primaryCall : attempt.hedgeCall) : null;
+            }
+            if (attempt.finished && attempt.primaryNanos >= 0 && !attempt.reported) {
+                attempt.reported = true;
+                report = call.listener() != null;
+            }
+            answerNanos = attempt.answerNanos;
+            primaryNanos = attempt.primaryNanos;
+            hedgeWon = attempt.hedgeWon;
+        }
+        if (loser != null) {
+            loser.cancel(true);
+        }
+        if (report) {
+            call.listener().answered(answerNanos, primaryNanos, hedgeWon);
+        }
+        if (answer) {
+            call.result().complete(value);
+        } else if (fail) {
+            retryOrFail(call, attempt.number, failure, code);
+        }
+    }
+
+    private <T> void retryOrFail(Call<T> call, int attempt, Throwable failure, StatusCode.Code code) {
+        if (code == null || !isRetryable(code) || attempt >= maxAttempts) {
+            call.result().completeExceptionally(failure);
+            return;
+        }
+
+        long backoffMillis = backoffMillis(attempt);
+        logger.warn("Translation API call failed with {} (attempt {}/{}). Retrying in {} ms",
+                code, attempt, maxAttempts, backoffMillis);
+        try {
+            retryScheduler.schedule(() -> enqueue(call, attempt + 1), backoffMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Closed while the call was in flight.
+            call.result().completeExceptionally(failure);
+        }
+    }
+
+    // Stops dispatching, drops queued calls, pending retries and hedges, and fails every call not yet answered, so
+    // no caller waits forever. Backend calls already in flight are left to finish; their answers are ignored.
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        int dropped = scheduler.clear() + retryScheduler.shutdownNow().size();
+        IllegalStateException failure = new IllegalStateException("API call guard closed");
+        int failed = 0;
+        for (Call<?> call : outstandingCalls) {
+            if (call.result().completeExceptionally(failure)) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            logger.warn("Closed the API call guard with {} calls unanswered ({} queued tasks dropped)", failed, dropped);
+        }
+    }
+
+    public static boolean isRetryable(StatusCode.Code code) {
+        return code == StatusCode.Code.UNAVAILABLE
+                || code == StatusCode.Code.DEADLINE_EXCEEDED
+                || code == StatusCode.Code.RESOURCE_EXHAUSTED;
+    }
+
+    public static boolean isQuotaExhausted(Throwable e) {
+        return e instanceof ApiException apiException
+                && apiException.getStatusCode().getCode() == StatusCode.Code.RESOURCE_EXHAUSTED;
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimiter.getLimit();
+    }
+
+    public int getInFlight() {
+        return concurrencyLimiter.getInFlight();
+    }
+
+    public int getQueued() {
+        return scheduler.size();
+    }
+
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    // Told about the hedging of each attempt of a call, for metrics.
+    public interface HedgeListener {
+        void hedgeSent();
+
+        // The attempt was slow but the hedge budget was spent.
+        void hedgeDenied();
+
+        // Both times run from sending the attempt's primary call: to the first answer, and to the primary's own answer,
+        // which is what the attempt would have taken without hedging.
+        void answered(long answerNanos, long primaryNanos, boolean hedgeWon);
+    }
+
+    private record Call<T>(String flow, double weight, int characters, Supplier<CompletableFuture<T>> apiCall,
+                           HedgeListener listener, CompletableFuture<T> result) {
+    }
+
+    // The primary call of one attempt and its hedge, if any; guarded by its own monitor.
+    private static final class Attempt {
+        private final int number;
+        private volatile long sentAt;
+        private CompletableFuture<?> primaryCall;
+        private CompletableFuture<?> hedgeCall;
+        private int outstanding;
+        private boolean finished;
+        private boolean hedgeWon;
+        private boolean reported;
+        private long answerNanos = -1;
+        private long primaryNanos = -1;
+
+        private Attempt(int number) {
+            this.number = number;
+        }
+    }
+}
\ No newline at end of file
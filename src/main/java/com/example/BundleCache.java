@@ -0,0 +1,49 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Parsed source bundles kept in memory by the daemon. An entry is reused while the file's modification time and
+// size are unchanged, so back-to-back jobs on the same source skip parsing and digesting it.
+public class BundleCache {
+    private static final Logger logger = LoggerFactory.getLogger(BundleCache.class);
+
+    private final Map<Path, Bundle> bundles = new ConcurrentHashMap<>();
+
+    public Bundle load(String propertiesFile) throws IOException {
+        Path path = Paths.get(propertiesFile).toAbsolutePath().normalize();
+        if (!Files.exists(path)) {
+            bundles.remove(path);
+            List<PropertyEntry> entries = FileIO.readPropertiesFile(propertiesFile);
+            return new Bundle(0, 0, entries, BundleIndex.of(entries));
+        }
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        long size = Files.size(path);
+        Bundle cached = bundles.get(path);
+        if (cached != null && cached.lastModified() == lastModified && cached.size() == size) {
+            logger.debug("Reusing parsed bundle {} ({} entries)", path, cached.entries().size());
+            return cached;
+        }
+
+        List<PropertyEntry> entries = List.copyOf(FileIO.readPropertiesFile(path.toString()));
+        Bundle bundle = new Bundle(lastModified, size, entries, BundleIndex.of(entries));
+        bundles.put(path, bundle);
+        logger.info("Parsed bundle {} with {} entries", path, entries.size());
+        return bundle;
+    }
+
+    public int size() {
+        return bundles.size();
+    }
+
+    public record Bundle(long lastModified, long size, List<PropertyEntry> entries, BundleIndex index) {
+    }
+}
\ No newline at end of file
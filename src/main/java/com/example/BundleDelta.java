@@ -0,0 +1,125 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class BundleDelta {
+    private static final Logger logger = LoggerFactory.getLogger(BundleDelta.class);
+
+    public enum ChangeType {
+        ADDED, CHANGED, REMOVED, UNCHANGED
+    }
+
+    private final Map<String, ChangeType> changesByKey;
+    private final List<String> removedKeys;
+    private final Map<ChangeType, Integer> counts;
+    // Keys promoted by withChanged: their source is unchanged, so retranslating them is a refresh rather than new work.
+    private final Set<String> refreshedKeys;
+
+    private BundleDelta(Map<String, ChangeType> changesByKey, List<String> removedKeys, Map<ChangeType, Integer> counts, Set<String> refreshedKeys) {
+        this.changesByKey = changesByKey;
+        this.removedKeys = removedKeys;
+        this.counts = counts;
+        this.refreshedKeys = refreshedKeys;
+    }
+
+    public static BundleDelta compute(BundleIndex baseline, BundleIndex current) {
+        long start = System.nanoTime();
+        Map<String, ChangeType> changes = new HashMap<>(Math.max(16, current.size() * 4 / 3));
+        Map<ChangeType, Integer> counts = new EnumMap<>(ChangeType.class);
+        for (ChangeType type : ChangeType.values()) {
+            counts.put(type, 0);
+        }
+
+        for (Map.Entry<String, String> entry : current.getDigests().entrySet()) {
+            String baselineDigest = baseline.getDigest(entry.getKey());
+            ChangeType type;
+            if (baselineDigest == null) {
+                type = ChangeType.ADDED;
+            } else if (!baselineDigest.equals(entry.getValue())) {
+                type = ChangeType.CHANGED;
+            } else {
+                type = ChangeType.UNCHANGED;
+            }
+            changes.put(entry.getKey(), type);
+            counts.merge(type, 1, Integer::sum);
+            if (type != ChangeType.UNCHANGED) {
+                logger.debug("{} entry detected - Key: {}", type, entry.getKey());
+            }
+        }
+
+        List<String> removed = new ArrayList<>();
+        for (String key : baseline.getDigests().keySet()) {
+            if (!current.containsKey(key)) {
+                removed.add(key);
+                logger.debug("REMOVED entry detected - Key: {}", key);
+            }
+        }
+        counts.put(ChangeType.REMOVED, removed.size());
+
+        logger.info("Delta computed in {} ms - added: {}, changed: {}, removed: {}, unchanged: {}",
+                (System.nanoTime() - start) / 1_000_000, counts.get(ChangeType.ADDED), counts.get(ChangeType.CHANGED),
+                counts.get(ChangeType.REMOVED), counts.get(ChangeType.UNCHANGED));
+        return new BundleDelta(changes, removed, counts, Collections.emptySet());
+    }
+
+    // Marks unchanged keys as CHANGED so they are retranslated, e.g. because a glossary term they use changed.
+    public BundleDelta withChanged(Collection<String> keys) {
+        Map<String, ChangeType> changes = new HashMap<>(changesByKey);
+        Map<ChangeType, Integer> updatedCounts = new EnumMap<>(counts);
+        Set<String> refreshed = new HashSet<>(refreshedKeys);
+        int promoted = 0;
+        for (String key : keys) {
+            if (changes.replace(key, ChangeType.UNCHANGED, ChangeType.CHANGED)) {
+                refreshed.add(key);
+                promoted++;
+            }
+        }
+        updatedCounts.merge(ChangeType.UNCHANGED, -promoted, Integer::sum);
+        updatedCounts.merge(ChangeType.CHANGED, promoted, Integer::sum);
+        logger.info("Marked {} unchanged entries as changed", promoted);
+        return new BundleDelta(changes, removedKeys, updatedCounts, refreshed);
+    }
+
+    public ChangeType classify(String key) {
+        ChangeType type = changesByKey.get(key);
+        return type != null ? type : ChangeType.REMOVED;
+    }
+
+    public boolean needsTranslation(String key) {
+        ChangeType type = classify(key);
+        return type == ChangeType.ADDED || type == ChangeType.CHANGED;
+    }
+
+    // Added keys and keys whose source text changed, as opposed to refreshes of unchanged keys.
+    public boolean isEdited(String key) {
+        ChangeType type = classify(key);
+        return type == ChangeType.ADDED || type == ChangeType.CHANGED && !refreshedKeys.contains(key);
+    }
+
+    public boolean hasRefreshedKeys() {
+        return !refreshedKeys.isEmpty();
+    }
+
+    public List<String> getRemovedKeys() {
+        return Collections.unmodifiableList(removedKeys);
+    }
+
+    public boolean isEmpty() {
+        return counts.get(ChangeType.ADDED) + counts.get(ChangeType.CHANGED) + counts.get(ChangeType.REMOVED) == 0;
+    }
+
+    public int count(ChangeType type) {
+        return counts.get(type);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BundleIndex {
+    private final Map<String, String> digestsByKey;
+
+    private BundleIndex(Map<String, String> digestsByKey) {
+        this.digestsByKey = digestsByKey;
+    }
+
+    public static BundleIndex of(List<PropertyEntry> entries) {
+        return of(entries.iterator());
+    }
+
+    public static BundleIndex of(Iterator<PropertyEntry> entries) {
+        Map<String, String> digests = new LinkedHashMap<>();
+        while (entries.hasNext()) {
+            PropertyEntry entry = entries.next();
+            if (entry.type == PropertyEntry.EntryType.PROPERTY) {
+                digests.put(entry.key, digestOf(entry));
+            }
+        }
+        return new BundleIndex(digests);
+    }
+
+    public static BundleIndex fromDigests(Map<String, String> digestsByKey) {
+        return new BundleIndex(new LinkedHashMap<>(digestsByKey));
+    }
+
+    public static String digestOf(PropertyEntry entry) {
+        return ContentHash.sha256(String.join("\n", entry.lines));
+    }
+
+    public String getDigest(String key) {
+        return digestsByKey.get(key);
+    }
+
+    public boolean containsKey(String key) {
+        return digestsByKey.containsKey(key);
+    }
+
+    public Map<String, String> getDigests() {
+        return Collections.unmodifiableMap(digestsByKey);
+    }
+
+    public int size() {
+        return digestsByKey.size();
+    }
+}
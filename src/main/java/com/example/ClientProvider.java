@@ -0,0 +1,101 @@
+package com.example;
+
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import com.google.cloud.translate.v3.TranslationServiceClient;
+import com.google.cloud.translate.v3.TranslationServiceSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.Duration;
+
+import java.io.IOException;
+
+public class ClientProvider implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ClientProvider.class);
+    private final ConfigManager configManager;
+    private volatile TranslationServiceClient translationClient;
+    private volatile Storage storage;
+
+    public ClientProvider(ConfigManager configManager) {
+        this.configManager = configManager;
+    }
+
+    public TranslationServiceClient getTranslationClient() throws IOException {
+        TranslationServiceClient client = translationClient;
+        if (client == null) {
+            synchronized (this) {
+                client = translationClient;
+                if (client == null) {
+                    client = createTranslationClient();
+                    translationClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    public Storage getStorage() {
+        Storage service = storage;
+        if (service == null) {
+            synchronized (this) {
+                service = storage;
+                if (service == null) {
+                    long start = System.nanoTime();
+                    service = StorageOptions.newBuilder()
+                            .setProjectId(configManager.getProjectId())
+                            .build()
+                            .getService();
+                    storage = service;
+                    logger.info("Created Storage client in {} ms", (System.nanoTime() - start) / 1_000_000);
+                }
+            }
+        }
+        return service;
+    }
+
+    private TranslationServiceClient createTranslationClient() throws IOException {
+        String credentialsPath = System.getenv("GOOGLE_APPLICATION_CREDENTIALS");
+        if (credentialsPath == null || credentialsPath.isEmpty()) {
+            logger.error("GOOGLE_APPLICATION_CREDENTIALS environment variable is not set");
+            throw new IOException("Environment variable GOOGLE_APPLICATION_CREDENTIALS is not set");
+        }
+
+        int poolSize = configManager.getChannelPoolSize();
+        int keepAliveSeconds = configManager.getKeepAliveTimeSeconds();
+        int keepAliveTimeoutSeconds = configManager.getKeepAliveTimeoutSeconds();
+
+        long start = System.nanoTime();
+        InstantiatingGrpcChannelProvider channelProvider = TranslationServiceSettings.defaultGrpcTransportProviderBuilder()
+                .setChannelPoolSettings(ChannelPoolSettings.staticallySized(poolSize))
+                .setKeepAliveTime(Duration.ofSeconds(keepAliveSeconds))
+                .setKeepAliveTimeout(Duration.ofSeconds(keepAliveTimeoutSeconds))
+                .setKeepAliveWithoutCalls(true)
+                .build();
+        TranslationServiceSettings settings = TranslationServiceSettings.newBuilder()
+                .setTransportChannelProvider(channelProvider)
+                .build();
+        TranslationServiceClient client = TranslationServiceClient.create(settings);
+        logger.info("Created TranslationServiceClient in {} ms (channel pool size: {}, keepalive: {}s)",
+                (System.nanoTime() - start) / 1_000_000, poolSize, keepAliveSeconds);
+        return client;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (translationClient != null) {
+            logger.debug("Closing TranslationServiceClient");
+            translationClient.close();
+            translationClient = null;
+        }
+        if (storage != null) {
+            try {
+                storage.close();
+            } catch (Exception e) {
+                logger.warn("Error closing Storage client: {}", e.getMessage(), e);
+            }
+            storage = null;
+        }
+    }
+}
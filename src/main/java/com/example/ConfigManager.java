@@ -5,6 +5,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 public class ConfigManager {
@@ -28,6 +30,13 @@ public class ConfigManager {
                 throw new IOException("Unable to find application.properties");
             }
             properties.load(input);
+            for (String name : properties.stringPropertyNames()) {
+                String override = System.getProperty(name);
+                if (override != null) {
+                    logger.debug("Overriding configuration property {} from system properties", name);
+                    properties.setProperty(name, override);
+                }
+            }
             logger.debug("Successfully loaded configuration properties");
             return properties;
         } catch (IOException e) {
@@ -59,4 +68,258 @@ public class ConfigManager {
     public String getOutputFilePath(String targetLanguage) {
         return String.format(config.getProperty("file.output.path.format"), targetLanguage);
     }
+
+    public int getBatchMaxSegments() {
+        return Integer.parseInt(config.getProperty("translation.batch.max.segments", "128"));
+    }
+
+    public int getBatchMaxCodepoints() {
+        return Integer.parseInt(config.getProperty("translation.batch.max.codepoints", "30000"));
+    }
+
+    public int getLanguageParallelism() {
+        return Integer.parseInt(config.getProperty("translation.language.parallelism", "4"));
+    }
+
+    public int getChannelPoolSize() {
+        return Integer.parseInt(config.getProperty("google.grpc.channel.pool.size", "2"));
+    }
+
+    public int getKeepAliveTimeSeconds() {
+        return Integer.parseInt(config.getProperty("google.grpc.keepalive.time.seconds", "60"));
+    }
+
+    public int getKeepAliveTimeoutSeconds() {
+        return Integer.parseInt(config.getProperty("google.grpc.keepalive.timeout.seconds", "20"));
+    }
+
+    public String getLocalGlossaryPath(String targetLanguage) {
+        return String.format(config.getProperty("glossary.local.path.format", "src/main/resources/glossaries/glossaries_%s.csv"), targetLanguage.toLowerCase());
+    }
+
+    public boolean isTranslationMemoryEnabled() {
+        return Boolean.parseBoolean(config.getProperty("translation.memory.enabled", "true"));
+    }
+
+    public boolean isTranslationMemoryCacheOnly() {
+        return Boolean.parseBoolean(config.getProperty("translation.memory.cache.only", "false"));
+    }
+
+    public String getTranslationMemoryPath() {
+        return config.getProperty("translation.memory.path", ".translation-memory/translation-memory.tsv");
+    }
+
+    public int getTranslationMemoryMaxEntries() {
+        return Integer.parseInt(config.getProperty("translation.memory.max.entries", "500000"));
+    }
+
+    public boolean isSegmentationEnabled() {
+        return Boolean.parseBoolean(config.getProperty("translation.segmentation.enabled", "true"));
+    }
+
+    public List<String> getSegmentationAbbreviations() {
+        return List.of(config.getProperty("translation.segmentation.abbreviations", "e.g.,i.e.,etc.,vs.,approx.,no.,Mr.,Mrs.,Ms.,Dr.,Prof.,Inc.,Ltd.,Corp.").split(","));
+    }
+
+    public boolean isFuzzyMatchEnabled() {
+        return Boolean.parseBoolean(config.getProperty("translation.fuzzy.enabled", "true"));
+    }
+
+    public double getFuzzyMatchThreshold() {
+        return Double.parseDouble(config.getProperty("translation.fuzzy.threshold", "0.5"));
+    }
+
+    public String getManifestFilePath(String targetLanguage) {
+        return String.format(config.getProperty("translation.manifest.path.format", "translation-state/manifest_%s.tsv"), targetLanguage);
+    }
+
+    public boolean isJournalEnabled() {
+        return Boolean.parseBoolean(config.getProperty("translation.journal.enabled", "true"));
+    }
+
+    public String getJournalFilePath(String targetLanguage) {
+        return String.format(config.getProperty("translation.journal.path.format", ".translation-cache/journal_%s.log"), targetLanguage);
+    }
+
+    public int getJournalSyncEntries() {
+        return Integer.parseInt(config.getProperty("translation.journal.sync.entries", "256"));
+    }
+
+    public String getGlossarySnapshotPath(String targetLanguage) {
+        return String.format(config.getProperty("translation.glossary.snapshot.path.format", "translation-state/glossary_%s.csv"), targetLanguage.toLowerCase());
+    }
+
+    public double getRateLimitCharactersPerSecond() {
+        return Double.parseDouble(config.getProperty("translation.rate.characters.per.second", "100000"));
+    }
+
+    public double getRateLimitRequestsPerSecond() {
+        return Double.parseDouble(config.getProperty("translation.rate.requests.per.second", "10"));
+    }
+
+    public int getConcurrencyInitialLimit() {
+        return Integer.parseInt(config.getProperty("translation.concurrency.initial", "4"));
+    }
+
+    public int getConcurrencyMinLimit() {
+        return Integer.parseInt(config.getProperty("translation.concurrency.min", "1"));
+    }
+
+    public int getConcurrencyMaxLimit() {
+        return Integer.parseInt(config.getProperty("translation.concurrency.max", "16"));
+    }
+
+    public int getRetryMaxAttempts() {
+        return Integer.parseInt(config.getProperty("translation.retry.max.attempts", "5"));
+    }
+
+    public long getRetryInitialBackoffMillis() {
+        return Long.parseLong(config.getProperty("translation.retry.initial.backoff.ms", "500"));
+    }
+
+    public long getRetryMaxBackoffMillis() {
+        return Long.parseLong(config.getProperty("translation.retry.max.backoff.ms", "30000"));
+    }
+
+    public long getDeadlineBaseMillis() {
+        return Long.parseLong(config.getProperty("translation.deadline.base.ms", "5000"));
+    }
+
+    public long getDeadlinePerThousandCharactersMillis() {
+        return Long.parseLong(config.getProperty("translation.deadline.per.1000.characters.ms", "1000"));
+    }
+
+    public double getHedgePercentile() {
+        return Double.parseDouble(config.getProperty("translation.hedge.percentile", "95"));
+    }
+
+    public double getHedgeBudget() {
+        return Double.parseDouble(config.getProperty("translation.hedge.budget", "0.05"));
+    }
+
+    public int getHedgeMinSamples() {
+        return Integer.parseInt(config.getProperty("translation.hedge.min.samples", "20"));
+    }
+
+    public int getMaxInFlightRequests() {
+        return Integer.parseInt(config.getProperty("translation.max.inflight.requests", "8"));
+    }
+
+    // critical, normal or bulk, from the scheduler language lists; languages in neither list are normal.
+    public String getPriorityClass(String targetLanguage) {
+        if (languageList("translation.scheduler.critical.languages").contains(targetLanguage.toLowerCase())) {
+            return "critical";
+        }
+        if (languageList("translation.scheduler.bulk.languages").contains(targetLanguage.toLowerCase())) {
+            return "bulk";
+        }
+        return "normal";
+    }
+
+    public double getSchedulerWeight(String priorityClass) {
+        String defaultWeight = switch (priorityClass) {
+            case "critical" -> "8";
+            case "bulk" -> "1";
+            default -> "2";
+        };
+        return Double.parseDouble(config.getProperty("translation.scheduler.weight." + priorityClass, defaultWeight));
+    }
+
+    public double getSchedulerEditedKeysFactor() {
+        return Double.parseDouble(config.getProperty("translation.scheduler.edited.keys.factor", "4"));
+    }
+
+    private List<String> languageList(String property) {
+        List<String> languages = new ArrayList<>();
+        for (String language : config.getProperty(property, "").split(",")) {
+            if (!language.isBlank()) {
+                languages.add(language.trim().toLowerCase());
+            }
+        }
+        return languages;
+    }
+
+    public int getStreamWindowEntries() {
+        return Integer.parseInt(config.getProperty("translation.stream.window.entries", "5000"));
+    }
+
+    public String getTranslationBackend() {
+        return config.getProperty("translation.backend", "google").trim().toLowerCase();
+    }
+
+    public long getSimulatedLatencyMedianMillis() {
+        return Long.parseLong(config.getProperty("simulated.latency.median.ms", "80"));
+    }
+
+    public long getSimulatedLatencyP99Millis() {
+        return Long.parseLong(config.getProperty("simulated.latency.p99.ms", "400"));
+    }
+
+    public long getSimulatedLatencyPerThousandCharactersMillis() {
+        return Long.parseLong(config.getProperty("simulated.latency.per.1000.characters.ms", "10"));
+    }
+
+    public double getSimulatedErrorRate() {
+        return Double.parseDouble(config.getProperty("simulated.error.rate", "0.0"));
+    }
+
+    public int getSimulatedQuotaCharactersPerSecond() {
+        return Integer.parseInt(config.getProperty("simulated.quota.characters.per.second", "0"));
+    }
+
+    public double getSimulatedStallRate() {
+        return Double.parseDouble(config.getProperty("simulated.stall.rate", "0.0"));
+    }
+
+    public long getSimulatedStallMillis() {
+        return Long.parseLong(config.getProperty("simulated.stall.ms", "20000"));
+    }
+
+    public long getSimulatedGlossaryLatencyMillis() {
+        return Long.parseLong(config.getProperty("simulated.glossary.latency.ms", "200"));
+    }
+
+    public long getSimulatedSeed() {
+        return Long.parseLong(config.getProperty("simulated.seed", "42"));
+    }
+
+    public String getMetricsExportPath() {
+        return config.getProperty("metrics.export.path", "build/metrics/translation-metrics.prom");
+    }
+
+    public int getMetricsHttpPort() {
+        return Integer.parseInt(config.getProperty("metrics.http.port", "0"));
+    }
+
+    public String getMetricsHttpBindAddress() {
+        return config.getProperty("metrics.http.bind.address", "127.0.0.1");
+    }
+
+    public String getDaemonHttpBindAddress() {
+        return config.getProperty("daemon.http.bind.address", "127.0.0.1");
+    }
+
+    public int getDaemonHttpPort() {
+        return Integer.parseInt(config.getProperty("daemon.http.port", "8090"));
+    }
+
+    public int getDaemonHttpThreads() {
+        return Integer.parseInt(config.getProperty("daemon.http.threads", "16"));
+    }
+
+    public String getGlossaryRegistryPath() {
+        return config.getProperty("glossary.registry.path", ".translation-cache/glossary-registry.tsv");
+    }
+
+    public long getGlossaryRegistryTtlMinutes() {
+        return Long.parseLong(config.getProperty("glossary.registry.ttl.minutes", "1440"));
+    }
+
+    public String getGlossaryMissingPolicy() {
+        return config.getProperty("glossary.missing.policy", "background").trim().toLowerCase();
+    }
+
+    public String getGlossaryLocalMode() {
+        return config.getProperty("glossary.local.mode", "off").trim().toLowerCase();
+    }
 }
\ No newline at end of file
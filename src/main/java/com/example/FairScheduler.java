@@ -0,0 +1,60 @@
+package com.example;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Weighted fair queuing of API calls over flows (a language, split into edited keys and refreshes), ordered by
+// virtual finish time. A call's finish tag advances its flow by cost / weight, and the call with the smallest tag
+// goes next, so each backlogged flow gets quota in proportion to its weight however many calls it has queued. Tags
+// start no earlier than the virtual time, the start tag of the last call dispatched, so an idle flow cannot bank credit.
+public class FairScheduler {
+    private final PriorityQueue<Task> queue = new PriorityQueue<>((left, right) -> left.finish != right.finish
+            ? Double.compare(left.finish, right.finish) : Long.compare(left.sequence, right.sequence));
+    private final Map<String, Double> lastFinishByFlow = new HashMap<>();
+    private double virtualTime;
+    private long sequence;
+
+    public synchronized void submit(String flow, double weight, int cost, Runnable task) {
+        double start = Math.max(virtualTime, lastFinishByFlow.getOrDefault(flow, 0d));
+        double finish = start + Math.max(1, cost) / Math.max(weight, 1e-6);
+        lastFinishByFlow.put(flow, finish);
+        queue.add(new Task(start, finish, sequence++, task));
+        notifyAll();
+    }
+
+    public synchronized void awaitTask() throws InterruptedException {
+        while (queue.isEmpty()) {
+            wait();
+        }
+    }
+
+    // The next task in fair order, or null when none is queued.
+    public synchronized Runnable poll() {
+        Task task = queue.poll();
+        if (task == null) {
+            return null;
+        }
+        virtualTime = Math.max(virtualTime, task.start);
+        if (queue.isEmpty()) {
+            // Nothing is backlogged, so no flow is owed anything; this also keeps the map from growing in the daemon.
+            lastFinishByFlow.clear();
+        }
+        return task.runnable;
+    }
+
+    // Drops every queued task and returns how many there were.
+    public synchronized int clear() {
+        int dropped = queue.size();
+        queue.clear();
+        lastFinishByFlow.clear();
+        return dropped;
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    private record Task(double start, double finish, long sequence, Runnable runnable) {
+    }
+}
\ No newline at end of file
@@ -4,18 +4,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class FileIO {
     private static final Logger logger = LoggerFactory.getLogger(FileIO.class);
@@ -30,68 +36,90 @@ public class FileIO {
             return entries;
         }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(inputFile), StandardCharsets.UTF_8))) {
-            String line;
-            List<String> currentLines = new ArrayList<>();
-            String currentKey = null;
-            PropertyEntry.EntryType currentType = null;
-
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().startsWith("#")) {
-                    if (currentType != null) {
-                        entries.add(new PropertyEntry(currentKey, new ArrayList<>(currentLines), currentType));
-                        currentLines.clear();
-                    }
-                    currentKey = line;
-                    currentLines.add(line);
-                    currentType = PropertyEntry.EntryType.COMMENT;
-                } else if (line.trim().isEmpty()) {
-                    if (currentType != null) {
-                        entries.add(new PropertyEntry(currentKey, new ArrayList<>(currentLines), currentType));
-                        currentLines.clear();
-                    }
-                    currentKey = "";
-                    currentLines.add(line);
-                    currentType = PropertyEntry.EntryType.EMPTY_LINE;
-                } else {
-                    int separatorIndex = line.indexOf('=');
-                    if (separatorIndex > 0 && (currentType != PropertyEntry.EntryType.PROPERTY || !currentLines.get(currentLines.size() - 1).trim().endsWith("\\"))) {
-                        if (currentType != null) {
-                            entries.add(new PropertyEntry(currentKey, new ArrayList<>(currentLines), currentType));
-                            currentLines.clear();
-                        }
-                        currentKey = line.substring(0, separatorIndex).trim();
-                        currentLines.add(line);
-                        currentType = PropertyEntry.EntryType.PROPERTY;
-                    } else {
-                        currentLines.add(line);
-                    }
-                }
-            }
-            if (currentType != null) {
-                entries.add(new PropertyEntry(currentKey, currentLines, currentType));
-            }
+        try (PropertiesReader reader = openPropertiesReader(inputPath)) {
+            reader.forEachRemaining(entries::add);
             logger.info("Successfully read {} entries from properties file", entries.size());
             return entries;
-        } catch (IOException e) {
-            logger.error("Error reading properties file {}: {}", inputFile, e.getMessage(), e);
-            throw e;
+        } catch (IOException | UncheckedIOException e) {
+            IOException cause = e instanceof UncheckedIOException unchecked ? unchecked.getCause() : (IOException) e;
+            logger.error("Error reading properties file {}: {}", inputFile, cause.getMessage(), cause);
+            throw cause;
         }
     }
 
+    public static Stream<PropertyEntry> streamPropertiesFile(String inputFile) throws IOException {
+        logger.info("Streaming properties file: {}", inputFile);
+        Path inputPath = Paths.get(inputFile);
+        if (!Files.exists(inputPath)) {
+            logger.warn("Source properties file does not exist: {}. Please add the source file.", inputFile);
+            return Stream.empty();
+        }
+
+        PropertiesReader reader = openPropertiesReader(inputPath);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static PropertiesReader openPropertiesReader(Path inputPath) throws IOException {
+        return new PropertiesReader(new BufferedReader(new InputStreamReader(new FileInputStream(inputPath.toFile()), StandardCharsets.UTF_8)));
+    }
+
+    public static PropertiesWriter openPropertiesWriter(String filename) throws IOException {
+        logger.info("Opening translated properties file for streaming output: {}", filename);
+        return PropertiesWriter.open(Paths.get(filename));
+    }
+
     public static void writePropertiesUtf8(List<PropertyEntry> entries, String filename) throws IOException {
         logger.info("Writing translated properties to file: {}", filename);
-        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8))) {
+        try (PropertiesWriter writer = PropertiesWriter.open(Paths.get(filename))) {
             for (PropertyEntry entry : entries) {
-                for (String line : entry.lines) {
-                    writer.write(line);
-                    writer.newLine();
-                }
+                writer.write(entry);
             }
+            writer.commit();
             logger.info("Successfully wrote {} entries to file", entries.size());
         } catch (IOException e) {
             logger.error("Error writing properties file: {}", e.getMessage(), e);
             throw e;
         }
     }
+
+    // The temporary file that moveAtomically later renames onto target, in the same directory. Files.createTempFile
+    // would make it owner-only and the rename would carry that over, so a new file is created with the umask defaults
+    // instead, and an existing target's permissions are copied onto it.
+    static Path createTempFileFor(Path target) throws IOException {
+        Path targetPath = target.toAbsolutePath();
+        Path tempPath;
+        while (true) {
+            tempPath = targetPath.resolveSibling(targetPath.getFileName() + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                Files.createFile(tempPath);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // Another writer's temporary file; try another name.
+            }
+        }
+        if (Files.exists(targetPath)) {
+            try {
+                Files.setPosixFilePermissions(tempPath, Files.getPosixFilePermissions(targetPath));
+            } catch (UnsupportedOperationException e) {
+                // Not a POSIX file system; the new file keeps the defaults.
+            }
+        }
+        return tempPath;
+    }
+
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            logger.warn("Atomic move not supported for {}. Falling back to a regular replace.", target);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,264 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// MinHash index over the character trigrams of previously translated source texts. Each text gets 16 bands of
+// 3 min-hashes; a band is one sorted array of (band hash, id) pairs, so a query is 16 binary searches followed by
+// an exact trigram Jaccard check of the few candidates they return, independent of the number of entries.
+final class FuzzyMatchIndex {
+    private static final int BANDS = 16;
+    private static final int ROWS = 3;
+    private static final int ID_BITS = 24;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+    private static final int MIN_SHINGLES = 4;
+    private static final int MAX_CANDIDATES_PER_BAND = 8;
+    private static final int MAX_CANDIDATES = 32;
+    // Substituting longer spans would be rewriting the sentence, which is the API's job.
+    private static final int MAX_SUBSTITUTED_TOKENS = 3;
+    private static final long[] HASH_MULTIPLIERS = new long[BANDS * ROWS];
+    private static final long[] HASH_OFFSETS = new long[BANDS * ROWS];
+
+    static {
+        // Fixed seeds keep signatures stable between runs.
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < HASH_MULTIPLIERS.length; i++) {
+            seed = mix(seed + i);
+            HASH_MULTIPLIERS[i] = seed | 1;
+            seed = mix(seed);
+            HASH_OFFSETS[i] = seed;
+        }
+    }
+
+    private final String[] sources;
+    private final String[] translations;
+    private final long[][] bands = new long[BANDS][];
+    private final double threshold;
+
+    // sources and translations are parallel lists of normalized texts; texts too short to compare are left out.
+    FuzzyMatchIndex(List<String> sources, List<String> translations, double threshold) {
+        this.threshold = threshold;
+        int limit = (int) Math.min(sources.size(), ID_MASK);
+        String[] indexedSources = new String[limit];
+        String[] indexedTranslations = new String[limit];
+        long[][] bandKeys = new long[BANDS][limit];
+        int count = 0;
+        for (int i = 0; i < limit; i++) {
+            long[] shingles = shingles(sources.get(i));
+            if (shingles.length < MIN_SHINGLES) {
+                continue;
+            }
+            int[] signature = signature(shingles);
+            for (int band = 0; band < BANDS; band++) {
+                bandKeys[band][count] = bandHash(signature, band) << ID_BITS | count;
+            }
+            indexedSources[count] = sources.get(i);
+            indexedTranslations[count] = translations.get(i);
+            count++;
+        }
+        this.sources = Arrays.copyOf(indexedSources, count);
+        this.translations = Arrays.copyOf(indexedTranslations, count);
+        for (int band = 0; band < BANDS; band++) {
+            bands[band] = Arrays.copyOf(bandKeys[band], count);
+            Arrays.sort(bands[band]);
+        }
+    }
+
+    int size() {
+        return sources.length;
+    }
+
+    // The indexed text most similar to the given one, if its trigram Jaccard similarity reaches the threshold.
+    Match closest(String text) {
+        long[] shingles = shingles(text);
+        if (shingles.length < MIN_SHINGLES || sources.length == 0) {
+            return null;
+        }
+        int[] signature = signature(shingles);
+        int[] candidates = new int[MAX_CANDIDATES];
+        int candidateCount = 0;
+        for (int band = 0; band < BANDS && candidateCount < MAX_CANDIDATES; band++) {
+            long hash = bandHash(signature, band);
+            long[] keys = bands[band];
+            int position = Arrays.binarySearch(keys, hash << ID_BITS);
+            position = position < 0 ? -position - 1 : position;
+            for (int taken = 0; position < keys.length && keys[position] >>> ID_BITS == hash
+                    && taken < MAX_CANDIDATES_PER_BAND && candidateCount < MAX_CANDIDATES; position++, taken++) {
+                int id = (int) (keys[position] & ID_MASK);
+                if (!contains(candidates, candidateCount, id)) {
+                    candidates[candidateCount++] = id;
+                }
+            }
+        }
+
+        Match best = null;
+        for (int i = 0; i < candidateCount; i++) {
+            int id = candidates[i];
+            double similarity = jaccard(shingles, shingles(sources[id]));
+            if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                best = new Match(sources[id], translations[id], similarity);
+            }
+        }
+        return best;
+    }
+
+    // Reuses the translation of the closest match when the two sources differ in a short span that the past
+    // translation carries verbatim, such as a product name, a number or a placeholder; that span is replaced by
+    // the new one. Any other difference, a changed plural for instance, returns null and needs the API, and so does
+    // an identical source: reusing a translation as-is is the memory's job, which knows the glossary it was made with.
+    static String substitute(String text, Match match) {
+        String[] query = text.split(" ");
+        String[] past = match.source().split(" ");
+        int shared = Math.min(query.length, past.length);
+        int prefix = 0;
+        while (prefix < shared && query[prefix].equals(past[prefix])) {
+            prefix++;
+        }
+        if (prefix == query.length && prefix == past.length) {
+            return null;
+        }
+        int suffix = 0;
+        while (suffix < shared - prefix && query[query.length - 1 - suffix].equals(past[past.length - 1 - suffix])) {
+            suffix++;
+        }
+        int queryTokens = query.length - prefix - suffix;
+        int pastTokens = past.length - prefix - suffix;
+        if (queryTokens == 0 || pastTokens == 0 || queryTokens > MAX_SUBSTITUTED_TOKENS || pastTokens > MAX_SUBSTITUTED_TOKENS) {
+            return null;
+        }
+        String replacement = String.join(" ", Arrays.copyOfRange(query, prefix, prefix + queryTokens));
+        String original = String.join(" ", Arrays.copyOfRange(past, prefix, prefix + pastTokens));
+        // Punctuation both spans share, such as a final period, stays where the translation put it.
+        while (!replacement.isEmpty() && !original.isEmpty() && isPunctuation(original.charAt(original.length() - 1))
+                && original.charAt(original.length() - 1) == replacement.charAt(replacement.length() - 1)) {
+            original = original.substring(0, original.length() - 1);
+            replacement = replacement.substring(0, replacement.length() - 1);
+        }
+        while (!replacement.isEmpty() && !original.isEmpty() && isPunctuation(original.charAt(0)) && original.charAt(0) == replacement.charAt(0)) {
+            original = original.substring(1);
+            replacement = replacement.substring(1);
+        }
+        if (original.isEmpty() || replacement.isEmpty() || !isVerbatim(original, prefix == 0) || !isVerbatim(replacement, prefix == 0)) {
+            return null;
+        }
+
+        String translation = match.translation();
+        int at = indexOfWhole(translation, original, 0);
+        if (at < 0 || indexOfWhole(translation, original, at + 1) >= 0) {
+            return null;
+        }
+        return translation.substring(0, at) + replacement + translation.substring(at + original.length());
+    }
+
+    // Spans a translator leaves alone: placeholders, numbers, identifiers and, except at the start of a sentence
+    // where every word is capitalized, names.
+    private static boolean isVerbatim(String span, boolean sentenceStart) {
+        for (String token : span.split(" ")) {
+            boolean verbatim = !sentenceStart && Character.isUpperCase(token.charAt(0));
+            for (int i = 0; i < token.length() && !verbatim; i++) {
+                char c = token.charAt(i);
+                verbatim = Character.isDigit(c) || c == '{' || (i > 0 && i < token.length() - 1 && "._-/@:#".indexOf(c) >= 0);
+            }
+            if (!verbatim) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPunctuation(char c) {
+        return ".,;:!?()\"'".indexOf(c) >= 0;
+    }
+
+    // An occurrence not preceded or followed by a letter or digit, so "Server" is not found in "Serverliste".
+    private static int indexOfWhole(String text, String span, int from) {
+        for (int at = text.indexOf(span, from); at >= 0; at = text.indexOf(span, at + 1)) {
+            int end = at + span.length();
+            if ((at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1)))
+                    && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)))) {
+                return at;
+            }
+        }
+        return -1;
+    }
+
+    // Distinct character trigrams of the lowercased text, padded so short words still produce some.
+    private static long[] shingles(String text) {
+        String padded = " " + text.toLowerCase(Locale.ROOT) + " ";
+        if (padded.length() < 3) {
+            return new long[0];
+        }
+        long[] shingles = new long[padded.length() - 2];
+        for (int i = 0; i < shingles.length; i++) {
+            shingles[i] = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2);
+        }
+        Arrays.sort(shingles);
+        int distinct = 0;
+        for (int i = 0; i < shingles.length; i++) {
+            if (i == 0 || shingles[i] != shingles[distinct - 1]) {
+                shingles[distinct++] = shingles[i];
+            }
+        }
+        return Arrays.copyOf(shingles, distinct);
+    }
+
+    private static int[] signature(long[] shingles) {
+        int[] signature = new int[BANDS * ROWS];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < signature.length; i++) {
+                int hash = (int) ((HASH_MULTIPLIERS[i] * shingle + HASH_OFFSETS[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // 40 bits, leaving the low bits of a band key for the entry id.
+    private static long bandHash(int[] signature, int band) {
+        long hash = band;
+        for (int row = 0; row < ROWS; row++) {
+            hash = hash * 0x100000001B3L + signature[band * ROWS + row];
+        }
+        return mix(hash) >>> ID_BITS;
+    }
+
+    private static double jaccard(long[] left, long[] right) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return shared / (double) (left.length + right.length - shared);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB93FE1A85EC3L;
+        return value ^ (value >>> 33);
+    }
+
+    record Match(String source, String translation, double similarity) {
+    }
+}
\ No newline at end of file
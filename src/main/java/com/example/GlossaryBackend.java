@@ -0,0 +1,53 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public interface GlossaryBackend {
+
+    String glossaryName(String targetLanguage);
+
+    // Returns null when the glossary does not exist.
+    GlossaryInfo describeGlossary(String targetLanguage) throws IOException;
+
+    void uploadGlossary(Path glossaryFile, String targetLanguage) throws IOException;
+
+    // Completes when the long-running create operation has finished; an existing glossary is not an error.
+    CompletableFuture<Void> createGlossaryAsync(String targetLanguage);
+
+    // Deleting a glossary that does not exist is not an error.
+    CompletableFuture<Void> deleteGlossaryAsync(String targetLanguage);
+
+    default void createGlossary(String targetLanguage) throws IOException {
+        await(createGlossaryAsync(targetLanguage));
+    }
+
+    default void deleteGlossary(String targetLanguage) throws IOException {
+        await(deleteGlossaryAsync(targetLanguage));
+    }
+
+    record GlossaryInfo(String name, int entryCount, long createTimeMillis) {
+    }
+
+    static void await(CompletableFuture<Void> operation) throws IOException {
+        try {
+            operation.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    static GlossaryBackend create(ConfigManager configManager, ClientProvider clientProvider) {
+        return switch (configManager.getTranslationBackend()) {
+            case "google" -> new GoogleGlossaryBackend(configManager, clientProvider);
+            case "simulated" -> new SimulatedGlossaryBackend(configManager);
+            default -> throw new IllegalArgumentException("Unknown translation.backend: " + configManager.getTranslationBackend());
+        };
+    }
+}
\ No newline at end of file
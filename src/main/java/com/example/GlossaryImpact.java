@@ -0,0 +1,111 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Works out which source keys a glossary edit affects. The glossary a language was last translated with is
+// kept as a snapshot next to its manifest; diffing it with the current CSV gives the added, changed and removed
+// terms, and a term -> keys index over the source bundle turns those into the keys to retranslate.
+public final class GlossaryImpact {
+    private static final Logger logger = LoggerFactory.getLogger(GlossaryImpact.class);
+
+    private GlossaryImpact() {
+    }
+
+    public static Set<String> findImpactedKeys(ConfigManager configManager, String targetLanguage, Iterator<PropertyEntry> sourceEntries) throws IOException {
+        Path currentGlossary = Paths.get(configManager.getLocalGlossaryPath(targetLanguage));
+        Path snapshot = Paths.get(configManager.getGlossarySnapshotPath(targetLanguage));
+        Map<String, String> current = Files.exists(currentGlossary)
+                ? LocalGlossary.readTerms(currentGlossary, targetLanguage) : Collections.emptyMap();
+        Map<String, String> previous;
+        if (Files.exists(snapshot)) {
+            previous = LocalGlossary.readTerms(snapshot, targetLanguage);
+        } else {
+            // Without a snapshot every current term counts as added, which still limits the run to keys using the glossary.
+            logger.info("No glossary snapshot at {} for language {}; treating all {} glossary terms as added", snapshot, targetLanguage, current.size());
+            previous = Collections.emptyMap();
+        }
+
+        List<String> changedTerms = changedTerms(previous, current);
+        if (changedTerms.isEmpty()) {
+            logger.info("Glossary for {} is unchanged since the last translation", targetLanguage);
+            return Collections.emptySet();
+        }
+
+        Map<String, Set<String>> keysByTerm = indexKeysByTerm(sourceEntries, changedTerms);
+        Set<String> impactedKeys = new HashSet<>();
+        for (Map.Entry<String, Set<String>> term : keysByTerm.entrySet()) {
+            logger.debug("Glossary term '{}' is used by {} keys", term.getKey(), term.getValue().size());
+            impactedKeys.addAll(term.getValue());
+        }
+        logger.info("Glossary change for {}: {} terms added, changed or removed, affecting {} keys",
+                targetLanguage, changedTerms.size(), impactedKeys.size());
+        return impactedKeys;
+    }
+
+    static List<String> changedTerms(Map<String, String> previous, Map<String, String> current) {
+        Set<String> terms = new LinkedHashSet<>(current.keySet());
+        terms.addAll(previous.keySet());
+        List<String> changed = new ArrayList<>();
+        for (String term : terms) {
+            if (!Objects.equals(previous.get(term), current.get(term))) {
+                changed.add(term);
+            }
+        }
+        return changed;
+    }
+
+    // Inverted index restricted to the given terms, built in a single pass over the bundle.
+    static Map<String, Set<String>> indexKeysByTerm(Iterator<PropertyEntry> sourceEntries, List<String> terms) {
+        GlossaryIndex index = new GlossaryIndex(terms);
+        Map<String, Set<String>> keysByTerm = new LinkedHashMap<>();
+        while (sourceEntries.hasNext()) {
+            PropertyEntry entry = sourceEntries.next();
+            if (entry.type != PropertyEntry.EntryType.PROPERTY) {
+                continue;
+            }
+            String content = TranslationService.cleanContent(TranslationService.extractContent(String.join("\n", entry.lines)));
+            for (GlossaryIndex.Match match : index.findAll(content)) {
+                keysByTerm.computeIfAbsent(terms.get(match.term()), term -> new LinkedHashSet<>()).add(entry.key);
+            }
+        }
+        return keysByTerm;
+    }
+
+    // Records the glossary the output was just produced with, as the baseline for the next impact run.
+    public static void saveSnapshot(ConfigManager configManager, String targetLanguage) throws IOException {
+        Path currentGlossary = Paths.get(configManager.getLocalGlossaryPath(targetLanguage));
+        Path snapshot = Paths.get(configManager.getGlossarySnapshotPath(targetLanguage)).toAbsolutePath();
+        if (!Files.exists(currentGlossary)) {
+            Files.deleteIfExists(snapshot);
+            return;
+        }
+        Files.createDirectories(snapshot.getParent());
+        Path tempPath = FileIO.createTempFileFor(snapshot);
+        try {
+            // Copied into the file rather than over it, which would replace it along with its permissions.
+            try (OutputStream out = Files.newOutputStream(tempPath)) {
+                Files.copy(currentGlossary, out);
+            }
+            FileIO.moveAtomically(tempPath, snapshot);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Aho-Corasick automaton over glossary source terms: one pass over a value finds every term occurrence,
+// independent of the glossary size. Transitions live in a single open-addressing table keyed by
+// (node, char), so a 50k-term glossary is a handful of flat arrays instead of a map per trie node.
+final class GlossaryIndex {
+    private final String[] terms;
+    private final int[] fail;
+    private final int[] termAt;
+    private final int[] dictionaryLink;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final char[] edge;
+    private final long[] transitionKeys;
+    private final int[] transitionTargets;
+    private final int transitionShift;
+    private int nodeCount = 1;
+
+    // Terms must be non-empty; for duplicates the first occurrence wins.
+    GlossaryIndex(List<String> terms) {
+        this.terms = terms.toArray(new String[0]);
+        int maxNodes = 1;
+        for (String term : this.terms) {
+            maxNodes += term.length();
+        }
+        fail = new int[maxNodes];
+        termAt = new int[maxNodes];
+        dictionaryLink = new int[maxNodes];
+        firstChild = new int[maxNodes];
+        nextSibling = new int[maxNodes];
+        edge = new char[maxNodes];
+        Arrays.fill(termAt, -1);
+        Arrays.fill(firstChild, -1);
+
+        int capacity = Integer.highestOneBit(Math.max(16, maxNodes + maxNodes / 2) - 1) << 1;
+        transitionKeys = new long[capacity];
+        transitionTargets = new int[capacity];
+        transitionShift = 64 - Integer.numberOfTrailingZeros(capacity);
+        Arrays.fill(transitionKeys, -1L);
+
+        for (int i = 0; i < this.terms.length; i++) {
+            insert(this.terms[i], i);
+        }
+        buildFailureLinks();
+    }
+
+    int size() {
+        return terms.length;
+    }
+
+    // Whole-word occurrences, leftmost first and longest at each position, without overlaps.
+    List<Match> findAll(String text) {
+        List<Match> candidates = new ArrayList<>();
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = transition(node, c)) < 0 && node != 0) {
+                node = fail[node];
+            }
+            node = Math.max(next, 0);
+            for (int output = termAt[node] >= 0 ? node : dictionaryLink[node]; output != 0; output = dictionaryLink[output]) {
+                int term = termAt[output];
+                int start = i + 1 - terms[term].length();
+                if (isWholeWord(text, start, i + 1, terms[term])) {
+                    candidates.add(new Match(start, i + 1, term));
+                }
+            }
+        }
+        if (candidates.size() < 2) {
+            return candidates;
+        }
+
+        candidates.sort(Comparator.comparingInt(Match::start).thenComparing(Comparator.comparingInt(Match::end).reversed()));
+        List<Match> matches = new ArrayList<>();
+        int covered = 0;
+        for (Match candidate : candidates) {
+            if (candidate.start() >= covered) {
+                matches.add(candidate);
+                covered = candidate.end();
+            }
+        }
+        return matches;
+    }
+
+    private void insert(String term, int index) {
+        int node = 0;
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            int child = transition(node, c);
+            if (child < 0) {
+                child = nodeCount++;
+                edge[child] = c;
+                nextSibling[child] = firstChild[node];
+                firstChild[node] = child;
+                putTransition(node, c, child);
+            }
+            node = child;
+        }
+        if (termAt[node] < 0) {
+            termAt[node] = index;
+        }
+    }
+
+    private void buildFailureLinks() {
+        int[] queue = new int[nodeCount];
+        int head = 0;
+        int tail = 0;
+        for (int child = firstChild[0]; child >= 0; child = nextSibling[child]) {
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                char c = edge[child];
+                int state = fail[node];
+                int next;
+                while ((next = transition(state, c)) < 0 && state != 0) {
+                    state = fail[state];
+                }
+                fail[child] = Math.max(next, 0);
+                dictionaryLink[child] = termAt[fail[child]] >= 0 ? fail[child] : dictionaryLink[fail[child]];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    private int transition(int node, char c) {
+        long key = ((long) node << 16) | c;
+        for (int slot = slotOf(key); ; slot = (slot + 1) & (transitionKeys.length - 1)) {
+            long existing = transitionKeys[slot];
+            if (existing == key) {
+                return transitionTargets[slot];
+            }
+            if (existing == -1L) {
+                return -1;
+            }
+        }
+    }
+
+    private void putTransition(int node, char c, int target) {
+        long key = ((long) node << 16) | c;
+        int slot = slotOf(key);
+        while (transitionKeys[slot] != -1L) {
+            slot = (slot + 1) & (transitionKeys.length - 1);
+        }
+        transitionKeys[slot] = key;
+        transitionTargets[slot] = target;
+    }
+
+    private int slotOf(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> transitionShift);
+    }
+
+    // A term edge that is a letter or digit must not continue into a neighbouring letter or digit.
+    private static boolean isWholeWord(String text, int start, int end, String term) {
+        if (start > 0 && Character.isLetterOrDigit(term.charAt(0)) && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return false;
+        }
+        return end >= text.length() || !Character.isLetterOrDigit(term.charAt(term.length() - 1))
+                || !Character.isLetterOrDigit(text.charAt(end));
+    }
+
+    record Match(int start, int end, int term) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Local record of the glossaries known to exist remotely, so translation runs can skip the glossary
+// lookup while an entry is younger than the TTL. Stored as one tab-separated line per language.
+public class GlossaryRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(GlossaryRegistry.class);
+    private static final String NO_HASH = "-";
+
+    private final Path registryPath;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new TreeMap<>();
+
+    public GlossaryRegistry(Path registryPath, long ttlMillis) {
+        this.registryPath = registryPath;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public static GlossaryRegistry open(ConfigManager configManager) throws IOException {
+        GlossaryRegistry registry = new GlossaryRegistry(
+                Paths.get(configManager.getGlossaryRegistryPath()),
+                TimeUnit.MINUTES.toMillis(configManager.getGlossaryRegistryTtlMinutes()));
+        registry.load();
+        return registry;
+    }
+
+    // Returns the entry only while it is fresh; a TTL of 0 disables the cache.
+    public synchronized Entry lookup(String targetLanguage) {
+        Entry entry = entries.get(targetLanguage.toLowerCase(Locale.ROOT));
+        if (entry == null || System.currentTimeMillis() - entry.checkedAtMillis() >= ttlMillis) {
+            return null;
+        }
+        return entry;
+    }
+
+    // Returns the entry regardless of its age, for callers that confirm it remotely themselves.
+    public synchronized Entry get(String targetLanguage) {
+        return entries.get(targetLanguage.toLowerCase(Locale.ROOT));
+    }
+
+    // A null csvHash keeps the hash already registered for the same glossary instance, if any.
+    public synchronized void record(String targetLanguage, GlossaryBackend.GlossaryInfo info, String csvHash) {
+        String language = targetLanguage.toLowerCase(Locale.ROOT);
+        Entry previous = entries.get(language);
+        if (csvHash == null && previous != null && previous.createdAtMillis() == info.createTimeMillis()) {
+            csvHash = previous.csvHash();
+        }
+        entries.put(language, new Entry(language, info.name(), info.entryCount(), csvHash,
+                info.createTimeMillis(), System.currentTimeMillis()));
+        save();
+    }
+
+    public synchronized void invalidate(String targetLanguage) {
+        if (entries.remove(targetLanguage.toLowerCase(Locale.ROOT)) != null) {
+            logger.debug("Invalidated glossary registry entry for language {}", targetLanguage);
+            save();
+        }
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(registryPath)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(registryPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length != 6) {
+                    continue;
+                }
+                try {
+                    entries.put(fields[0], new Entry(fields[0], fields[1], Integer.parseInt(fields[2]),
+                            NO_HASH.equals(fields[3]) ? null : fields[3], Long.parseLong(fields[4]), Long.parseLong(fields[5])));
+                } catch (NumberFormatException e) {
+                    logger.warn("Skipping malformed glossary registry line in {}: {}", registryPath, line);
+                }
+            }
+        }
+        logger.info("Loaded glossary registry {} with {} entries", registryPath, entries.size());
+    }
+
+    // The registry is only a cache, so a failed write is logged and the next run does the remote check.
+    private void save() {
+        Path targetPath = registryPath.toAbsolutePath();
+        try {
+            Files.createDirectories(targetPath.getParent());
+            Path tempPath = FileIO.createTempFileFor(targetPath);
+            try {
+                try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                    for (Entry entry : entries.values()) {
+                        writer.write(String.join("\t", entry.language(), entry.glossaryName(), String.valueOf(entry.entryCount()),
+                                entry.csvHash() != null ? entry.csvHash() : NO_HASH,
+                                String.valueOf(entry.createdAtMillis()), String.valueOf(entry.checkedAtMillis())));
+                        writer.newLine();
+                    }
+                }
+                FileIO.moveAtomically(tempPath, targetPath);
+            } finally {
+                Files.deleteIfExists(tempPath);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write glossary registry {}: {}", registryPath, e.getMessage());
+        }
+    }
+
+    public record Entry(String language, String glossaryName, int entryCount, String csvHash,
+                        long createdAtMillis, long checkedAtMillis) {
+    }
+}
\ No newline at end of file
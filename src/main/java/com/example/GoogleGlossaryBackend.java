@@ -0,0 +1,219 @@
+package com.example;
+
+import com.google.api.gax.longrunning.OperationFuture;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageException;
+import com.google.cloud.translate.v3.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class GoogleGlossaryBackend implements GlossaryBackend {
+    private static final Logger logger = LoggerFactory.getLogger(GoogleGlossaryBackend.class);
+    private static final int UPLOAD_CHUNK_SIZE = 1024 * 1024;
+    private final ConfigManager configManager;
+    private final ClientProvider clientProvider;
+
+    public GoogleGlossaryBackend(ConfigManager configManager, ClientProvider clientProvider) {
+        this.configManager = configManager;
+        this.clientProvider = clientProvider;
+    }
+
+    @Override
+    public String glossaryName(String targetLanguage) {
+        String glossaryId = "glossary-" + targetLanguage.toLowerCase();
+        return LocationName.of(configManager.getProjectId(), configManager.getLocation()).toString() + "/glossaries/" + glossaryId;
+    }
+
+    @Override
+    public GlossaryInfo describeGlossary(String targetLanguage) throws IOException {
+        String glossaryName = glossaryName(targetLanguage);
+        try {
+            Glossary glossary = clientProvider.getTranslationClient().getGlossary(glossaryName);
+            long createTimeMillis = glossary.hasSubmitTime() ? glossary.getSubmitTime().getSeconds() * 1000 : 0;
+            return new GlossaryInfo(glossary.getName(), glossary.getEntryCount(), createTimeMillis);
+        } catch (ApiException e) {
+            if (e.getStatusCode().getCode() == StatusCode.Code.NOT_FOUND) {
+                return null;
+            }
+            throw new IOException("Error checking glossary " + glossaryName + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void uploadGlossary(Path glossaryFile, String targetLanguage) throws IOException {
+        try {
+            Storage storage = clientProvider.getStorage();
+
+            String glossaryFileName = configManager.getGlossaryFileName(targetLanguage);
+            BlobId blobId = BlobId.of(configManager.getBucketName(), glossaryFileName);
+            BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
+                    .setContentType("text/csv")
+                    .build();
+
+            // Resumable upload: the file is streamed in chunks instead of being read into memory.
+            long uploadedBytes = 0;
+            try (WriteChannel writer = storage.writer(blobInfo);
+                 FileChannel reader = FileChannel.open(glossaryFile, StandardOpenOption.READ)) {
+                writer.setChunkSize(UPLOAD_CHUNK_SIZE);
+                ByteBuffer buffer = ByteBuffer.allocate(UPLOAD_CHUNK_SIZE);
+                while (reader.read(buffer) != -1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        uploadedBytes += writer.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            if (storage.get(blobId) == null) {
+                throw new IOException("Failed to verify uploaded file in Cloud Storage");
+            }
+
+            logger.info("Successfully uploaded glossary file {} ({} bytes) to bucket {}", glossaryFileName, uploadedBytes, configManager.getBucketName());
+
+        } catch (StorageException e) {
+            logger.error("Error uploading glossary file to Cloud Storage: {}", e.getMessage(), e);
+            throw new IOException("Failed to upload glossary file to Cloud Storage: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteGlossaryAsync(String targetLanguage) {
+        String glossaryName = glossaryName(targetLanguage);
+        OperationFuture<DeleteGlossaryResponse, DeleteGlossaryMetadata> operation;
+        try {
+            operation = clientProvider.getTranslationClient().deleteGlossaryAsync(glossaryName);
+        } catch (IOException | ApiException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return GoogleTranslationBackend.toCompletableFuture(operation)
+                .orTimeout(5, TimeUnit.MINUTES)
+                .handle((response, failure) -> {
+                    if (failure == null) {
+                        logger.info("Successfully deleted glossary: {}", response.getName());
+                        return null;
+                    }
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                    if (cause instanceof ApiException apiException && apiException.getStatusCode().getCode() == StatusCode.Code.NOT_FOUND) {
+                        logger.info("Glossary not found. No deletion required: {}", glossaryName);
+                        return null;
+                    }
+                    if (cause instanceof TimeoutException) {
+                        operation.cancel(true);
+                    }
+                    logger.error("Error deleting glossary: {}", cause.getMessage(), cause);
+                    throw new CompletionException(new IOException("Error deleting glossary", cause));
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> createGlossaryAsync(String targetLanguage) {
+        logger.info("Starting glossary creation process for language: {}", targetLanguage);
+        LocationName parent = LocationName.of(configManager.getProjectId(), configManager.getLocation());
+        String inputUri = String.format("gs://%s/%s", configManager.getBucketName(), configManager.getGlossaryFileName(targetLanguage));
+        logger.debug("Input URI for glossary: {}", inputUri);
+
+        GcsSource gcsSource = GcsSource.newBuilder().setInputUri(inputUri).build();
+        GlossaryInputConfig inputConfig = GlossaryInputConfig.newBuilder().setGcsSource(gcsSource).build();
+
+        Glossary.LanguageCodePair languageCodePair = Glossary.LanguageCodePair.newBuilder()
+                .setSourceLanguageCode("en")
+                .setTargetLanguageCode(targetLanguage)
+                .build();
+
+        String glossaryId = "glossary-" + targetLanguage.toLowerCase();
+        String fullGlossaryName = glossaryName(targetLanguage);
+
+        Glossary glossary = Glossary.newBuilder()
+                .setName(fullGlossaryName)
+                .setLanguagePair(languageCodePair)
+                .setInputConfig(inputConfig)
+                .build();
+
+        CreateGlossaryRequest request = CreateGlossaryRequest.newBuilder()
+                .setParent(parent.toString())
+                .setGlossary(glossary)
+                .build();
+
+        logger.info("Creating glossary with configuration - ID: {}, Source: en, Target: {}, URI: {}",
+                glossaryId, targetLanguage, inputUri);
+
+        OperationFuture<Glossary, CreateGlossaryMetadata> operation;
+        try {
+            operation = clientProvider.getTranslationClient().createGlossaryAsync(request);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (ApiException e) {
+            return CompletableFuture.failedFuture(toIOException(e));
+        }
+
+        int timeoutMinutes = Integer.parseInt(configManager.getConfig().getProperty("glossary.creation.timeout.minutes", "5"));
+        return GoogleTranslationBackend.toCompletableFuture(operation)
+                .orTimeout(timeoutMinutes, TimeUnit.MINUTES)
+                .handle((createdGlossary, failure) -> {
+                    if (failure == null) {
+                        logger.info("Successfully created glossary: {}", createdGlossary.getName());
+                        return null;
+                    }
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                    if (cause instanceof TimeoutException) {
+                        operation.cancel(true);
+                        logger.error("Glossary creation timed out after {} minutes", timeoutMinutes, cause);
+                        throw new CompletionException(new IOException("Glossary creation timed out after " + timeoutMinutes + " minutes", cause));
+                    }
+                    if (cause instanceof ApiException apiException) {
+                        IOException error = toIOException(apiException);
+                        if (error == null) {
+                            return null;
+                        }
+                        throw new CompletionException(error);
+                    }
+                    logger.error("Error during glossary creation", cause);
+                    throw new CompletionException(new IOException("Error during glossary creation", cause));
+                });
+    }
+
+    // Returns null for ALREADY_EXISTS, which callers treat as success.
+    private IOException toIOException(ApiException e) {
+        StatusCode.Code code = e.getStatusCode().getCode();
+        String message = String.format("API error during glossary creation (Code: %s): %s",
+                code, e.getMessage());
+
+        switch (code) {
+            case ALREADY_EXISTS:
+                logger.info("Glossary already exists. Proceeding with existing glossary.");
+                return null;
+            case INVALID_ARGUMENT:
+                logger.error("Invalid glossary configuration: {}", e.getMessage(), e);
+                return new IOException("Invalid glossary configuration: " + e.getMessage(), e);
+            case PERMISSION_DENIED:
+                logger.error("Permission denied. Please check credentials and project permissions.", e);
+                return new IOException("Permission denied. Please check your credentials and project permissions.", e);
+            case NOT_FOUND:
+                logger.error("Resource not found. Please check if the glossary file exists in the GCS bucket.", e);
+                return new IOException("Resource not found. Please check if the glossary file exists in the GCS bucket.", e);
+            case RESOURCE_EXHAUSTED:
+                logger.error("Resource quota exceeded. Please try again later.", e);
+                return new IOException("Resource quota exceeded. Please try again later.", e);
+            default:
+                logger.error(message, e);
+                return new IOException(message, e);
+        }
+    }
+}
\ No newline at end of file
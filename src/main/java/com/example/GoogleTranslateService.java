@@ -7,9 +7,17 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 public class GoogleTranslateService {
     private static final Logger logger = LoggerFactory.getLogger(GoogleTranslateService.class);
@@ -20,28 +28,91 @@ public class GoogleTranslateService {
         logger.error("No arguments provided");
         logger.error("Usage: java GoogleTranslateService <targetLanguage1> <targetLanguage2> ... [deleteGlossary]");
         logger.error("   or: java GoogleTranslateService <targetLanguage> updateGlossary <glossaryPath>");
-        logger.error("   or: java GoogleTranslateService <targetLanguage1> <targetLanguage2> ... --previous <previousVersionFile>");
+        logger.error("   or: java GoogleTranslateService <targetLanguage1> <targetLanguage2> ... --delta [--previous <previousVersionFile>]");
+        logger.error("   or: java GoogleTranslateService --serve");
         System.exit(1);
     }
 
+    ClientProvider clientProvider = null;
     try {
         ConfigManager configManager = new ConfigManager();
-        TranslationService translationService = new TranslationService(configManager);
-        GlossaryManager glossaryManager = new GlossaryManager(configManager);
+        clientProvider = new ClientProvider(configManager);
+        if (args[0].equals("--serve")) {
+            serve(configManager, clientProvider);
+            return;
+        }
+        run(args, configManager, TranslationBackend.create(configManager, clientProvider), GlossaryBackend.create(configManager, clientProvider));
+    } catch (Exception e) {
+        logger.error("Fatal error during execution: {}", e.getMessage(), e);
+        System.exit(1);
+    } finally {
+        if (clientProvider != null) {
+            clientProvider.close();
+        }
+    }
+}
+
+    // Runs until the JVM is stopped; the shutdown hook drains the daemon before the clients are closed.
+    private static void serve(ConfigManager configManager, ClientProvider clientProvider) throws Exception {
+        TranslationDaemon daemon = TranslationDaemon.start(configManager,
+                TranslationBackend.create(configManager, clientProvider), GlossaryBackend.create(configManager, clientProvider));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            daemon.close();
+            clientProvider.close();
+        }, "translation-daemon-shutdown"));
+        daemon.awaitTermination();
+    }
+
+    static void run(String[] args, ConfigManager configManager, TranslationBackend translationBackend, GlossaryBackend glossaryBackend) throws Exception {
+    TranslationMemory translationMemory = TranslationMemory.open(configManager);
+    GlossaryRegistry glossaryRegistry = GlossaryRegistry.open(configManager);
+    Metrics metrics = new Metrics();
+    MetricsHttpServer metricsServer = null;
+    try (TranslationService translationService = new TranslationService(configManager, translationBackend, glossaryBackend, translationMemory, glossaryRegistry, metrics)) {
+        if (configManager.getMetricsHttpPort() > 0) {
+            metricsServer = MetricsHttpServer.start(configManager.getMetricsHttpBindAddress(), configManager.getMetricsHttpPort(), metrics);
+        }
+        GlossaryManager glossaryManager = new GlossaryManager(configManager, glossaryBackend, glossaryRegistry);
+        Map<String, Exception> failures = execute(args, configManager, translationService, glossaryManager, metrics, null);
+        // Each failure was logged with its language; throwing turns the run into a non-zero exit status.
+        if (!failures.isEmpty()) {
+            throw new IOException(failures.size() + " language(s) failed: " + String.join(", ", failures.keySet()));
+        }
+    } finally {
+        if (metricsServer != null) {
+            metricsServer.close();
+        }
+        metrics.export(configManager.getMetricsExportPath());
+        try {
+            translationMemory.close();
+        } catch (IOException e) {
+            logger.warn("Error closing translation memory: {}", e.getMessage(), e);
+        }
+    }
+}
 
+    // Runs one command line against already constructed services and returns the failed languages. The daemon
+    // passes its bundle cache so the source is parsed once per file version; the CLI streams it from disk instead.
+    static Map<String, Exception> execute(String[] args, ConfigManager configManager, TranslationService translationService,
+                                          GlossaryManager glossaryManager, Metrics metrics, BundleCache bundleCache) throws Exception {
         if (args.length >= 3 && args[1].equals("updateGlossary")) {
-            processMultipleGlossaryUpdates(args, glossaryManager);
-            return;
+            return processMultipleGlossaryUpdates(args, glossaryManager);
         }
 
         List<String> targetLanguages = new ArrayList<>();
         String previousFile = null;
         boolean shouldDeleteGlossary = false;
+        boolean deltaMode = false;
+        boolean glossaryImpact = false;
 
         for (int i = 0; i < args.length; i++) {
             if (args[i].equals("--previous") && i + 1 < args.length) {
                 previousFile = args[i + 1];
                 i++; // Skip the next argument since it's the file path
+            } else if (args[i].equals("--delta")) {
+                deltaMode = true;
+            } else if (args[i].equals("--glossary-impact")) {
+                glossaryImpact = true;
             } else if (args[i].equals("deleteGlossary")) {
                 shouldDeleteGlossary = true;
             } else {
@@ -49,60 +120,204 @@ public class GoogleTranslateService {
             }
         }
 
+        int parallelism = configManager.getLanguageParallelism();
+
         if (shouldDeleteGlossary) {
-            for (String targetLanguage : targetLanguages) {
-                try {
-                    logger.info("Deleting glossary for language: {}", targetLanguage);
-                    glossaryManager.deleteGlossary(targetLanguage);
-                    logger.info("Successfully deleted glossary for language: {}", targetLanguage);
-                } catch (IOException e) {
-                    logger.error("Error deleting glossary for language {}: {}", targetLanguage, e.getMessage(), e);
-                }
+            Map<String, Exception> failures = runForEachLanguage(targetLanguages, parallelism, targetLanguage -> {
+                logger.info("Deleting glossary for language: {}", targetLanguage);
+                glossaryManager.deleteGlossary(targetLanguage);
+                logger.info("Successfully deleted glossary for language: {}", targetLanguage);
+            });
+            logRunSummary("Glossary deletion", targetLanguages, failures);
+            return failures;
+        }
+
+        String inputPropsFile = configManager.getInputFilePath();
+        logger.info("Indexing source properties from: {}", inputPropsFile);
+        long parseStart = System.nanoTime();
+        BundleCache.Bundle cachedSource = bundleCache != null ? bundleCache.load(inputPropsFile) : null;
+        BundleIndex currentIndex;
+        if (cachedSource != null) {
+            currentIndex = cachedSource.index();
+        } else {
+            try (Stream<PropertyEntry> sourceEntries = FileIO.streamPropertiesFile(inputPropsFile)) {
+                currentIndex = BundleIndex.of(sourceEntries.iterator());
             }
-            return;
         }
+        metrics.histogram("translation_phase_duration_seconds", "phase", "parse").recordNanos(System.nanoTime() - parseStart);
 
-        for (String targetLanguage : targetLanguages) {
-            try {
-                logger.info("Processing translation for language: {}", targetLanguage);
-                String inputPropsFile = configManager.getInputFilePath();
-                String outputPropsFile = configManager.getOutputFilePath(targetLanguage);
+        if (currentIndex.size() == 0) {
+            logger.warn("No entries found in the source properties file: {}. Skipping translation for languages: {}", inputPropsFile, targetLanguages);
+            return new LinkedHashMap<>();
+        }
+
+        BundleIndex previousIndex = null;
+        if (previousFile != null) {
+            logger.info("Using previous version {} as the baseline for languages without a manifest", previousFile);
+            previousIndex = BundleIndex.of(FileIO.readPropertiesFile(previousFile));
+        }
 
-                logger.info("Reading source properties from: {}", inputPropsFile);
-                List<PropertyEntry> originalEntries = FileIO.readPropertiesFile(inputPropsFile);
+        boolean incremental = deltaMode || previousFile != null || glossaryImpact;
+        boolean retranslateGlossaryImpact = glossaryImpact;
+        BundleIndex bootstrapIndex = previousIndex;
+        Map<String, Exception> failures = runForEachLanguage(inPriorityOrder(targetLanguages, configManager), parallelism, targetLanguage -> {
+            logger.info("Processing translation for language: {}", targetLanguage);
+            String outputPropsFile = configManager.getOutputFilePath(targetLanguage);
+            TranslationManifest manifest = TranslationManifest.forLanguage(configManager, targetLanguage);
 
-                if (originalEntries.isEmpty()) {
-                    logger.warn("No entries found in the source properties file: {}. Skipping translation for language: {}", inputPropsFile, targetLanguage);
-                    continue;
+            BundleIndex baseline = null;
+            BundleDelta delta = null;
+            if (incremental) {
+                long deltaStart = System.nanoTime();
+                baseline = manifest.exists() ? manifest.load() : bootstrapIndex;
+                if (baseline == null) {
+                    logger.info("No manifest or previous file found for language {}. Translating all entries.", targetLanguage);
+                } else {
+                    delta = BundleDelta.compute(baseline, currentIndex);
+                    if (retranslateGlossaryImpact) {
+                        // Retranslating with a remote glossary that predates the file would record the edit as applied.
+                        if (!translationService.isGlossaryFileApplied(targetLanguage)) {
+                            throw new IOException("The glossary file for " + targetLanguage + " has not been uploaded since it changed, "
+                                    + "or its remote glossary has no recorded origin; run updateGlossary before --glossary-impact");
+                        }
+                        Set<String> impactedKeys;
+                        try (Stream<PropertyEntry> sourceEntries = sourceEntries(inputPropsFile, cachedSource)) {
+                            impactedKeys = GlossaryImpact.findImpactedKeys(configManager, targetLanguage, sourceEntries.iterator());
+                        }
+                        metrics.counter("glossary_impacted_entries_total", "language", targetLanguage).add(impactedKeys.size());
+                        delta = delta.withChanged(impactedKeys);
+                    }
                 }
+                metrics.histogram("translation_phase_duration_seconds", "phase", "delta").recordNanos(System.nanoTime() - deltaStart);
+            }
 
-                logger.info("Starting translation process for {} entries", originalEntries.size());
-                List<PropertyEntry> translatedEntries = translationService.translateProperties(originalEntries, targetLanguage, previousFile);
+            // Rewriting an up-to-date bundle would only cost time; a source edited since the output was written
+            // (comments, ordering) still goes through the full pass.
+            if (delta != null && delta.isEmpty() && manifest.exists() && isNewerThan(outputPropsFile, inputPropsFile)) {
+                logger.info("Nothing to translate for language {}: {} is up to date", targetLanguage, outputPropsFile);
+                metrics.counter("translation_languages_skipped_total", "language", targetLanguage).increment();
+                if (retranslateGlossaryImpact) {
+                    GlossaryImpact.saveSnapshot(configManager, targetLanguage);
+                }
+                return;
+            }
 
-                Path outputPath = Paths.get(outputPropsFile);
-                Files.createDirectories(outputPath.getParent());
+            Path outputPath = Paths.get(outputPropsFile);
+            Files.createDirectories(outputPath.getParent());
+            TranslationManifest.Update manifestUpdate = manifest.beginUpdate(currentIndex, baseline);
 
-                logger.info("Writing translated properties to: {}", outputPropsFile);
-                FileIO.writePropertiesUtf8(translatedEntries, outputPath.toString());
-            } catch (IOException e) {
-                logger.error("Error processing language {}: {}", targetLanguage, e.getMessage(), e);
+            logger.info("Starting translation process for {} properties, streaming output to: {}", currentIndex.size(), outputPropsFile);
+            // Output is written while translating, so write time is accumulated separately and excluded from the translate phase.
+            long[] writeNanos = new long[1];
+            long translateStart = System.nanoTime();
+            try (TranslationJournal journal = TranslationJournal.open(configManager, targetLanguage);
+                 Stream<PropertyEntry> sourceEntries = sourceEntries(inputPropsFile, cachedSource);
+                 PropertiesWriter writer = FileIO.openPropertiesWriter(outputPath.toString())) {
+                Set<String> fallbackKeys = translationService.translateProperties(sourceEntries.iterator(), targetLanguage, delta, journal, (sourceEntry, translatedEntry) -> {
+                    long writeStart = System.nanoTime();
+                    writer.write(translatedEntry);
+                    manifestUpdate.record(sourceEntry, translatedEntry);
+                    writeNanos[0] += System.nanoTime() - writeStart;
+                });
+                long translateNanos = System.nanoTime() - translateStart - writeNanos[0];
+                long commitStart = System.nanoTime();
+                manifestUpdate.forget(fallbackKeys);
+                writer.commit();
+                manifestUpdate.commit();
+                journal.delete();
+                // A plain delta run leaves entries translated with an older glossary in place, so only full and
+                // glossary-impact runs move the snapshot forward, and only once every entry was translated with it.
+                if (fallbackKeys.isEmpty() && (delta == null || retranslateGlossaryImpact) && translationService.isGlossaryFileApplied(targetLanguage)) {
+                    GlossaryImpact.saveSnapshot(configManager, targetLanguage);
+                }
+                writeNanos[0] += System.nanoTime() - commitStart;
+                metrics.histogram("translation_phase_duration_seconds", "phase", "translate").recordNanos(translateNanos);
+                metrics.histogram("translation_phase_duration_seconds", "phase", "write").recordNanos(writeNanos[0]);
+                logger.info("Successfully wrote {} entries to {}", writer.getEntriesWritten(), outputPropsFile);
+                // The bundle is kept, but the language is reported as failed so the gap is not mistaken for a complete run.
+                if (!fallbackKeys.isEmpty()) {
+                    throw new IOException(fallbackKeys.size() + " entries for " + targetLanguage
+                            + " could not be translated and were left for the next run");
+                }
             }
+        });
+        logRunSummary("Translation", targetLanguages, failures);
+        return failures;
+    }
+
+    // With more languages than workers, critical languages take the first workers and bulk ones the last.
+    private static List<String> inPriorityOrder(List<String> targetLanguages, ConfigManager configManager) {
+        List<String> ordered = new ArrayList<>(targetLanguages);
+        ordered.sort(Comparator.comparingInt(language -> switch (configManager.getPriorityClass(language)) {
+            case "critical" -> 0;
+            case "bulk" -> 2;
+            default -> 1;
+        }));
+        return ordered;
+    }
+
+    private static boolean isNewerThan(String file, String reference) throws IOException {
+        Path path = Paths.get(file);
+        return Files.exists(path) && Files.getLastModifiedTime(path).compareTo(Files.getLastModifiedTime(Paths.get(reference))) >= 0;
+    }
+
+    private static Stream<PropertyEntry> sourceEntries(String inputPropsFile, BundleCache.Bundle cachedSource) throws IOException {
+        return cachedSource != null ? cachedSource.entries().stream() : FileIO.streamPropertiesFile(inputPropsFile);
+    }
+
+    private static Map<String, Exception> runForEachLanguage(List<String> targetLanguages, int parallelism, LanguageTask task) throws InterruptedException {
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        if (targetLanguages.isEmpty()) {
+            return failures;
         }
 
-        if (previousFile != null) {
-            String inputPropsFile = configManager.getInputFilePath();
-            Files.copy(Paths.get(inputPropsFile), Paths.get(previousFile), StandardCopyOption.REPLACE_EXISTING);
-            logger.info("Updated backup file: {}", previousFile);
+        int poolSize = Math.max(1, Math.min(parallelism, targetLanguages.size()));
+        logger.info("Processing {} language(s) with parallelism {}", targetLanguages.size(), poolSize);
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            Map<String, Future<?>> futures = new LinkedHashMap<>();
+            for (String targetLanguage : targetLanguages) {
+                futures.put(targetLanguage, executor.submit(() -> {
+                    task.run(targetLanguage);
+                    return null;
+                }));
+            }
+
+            for (Map.Entry<String, Future<?>> future : futures.entrySet()) {
+                try {
+                    future.getValue().get();
+                } catch (ExecutionException e) {
+                    Exception cause = e.getCause() instanceof Exception exception ? exception : e;
+                    logger.error("Error processing language {}: {}", future.getKey(), cause.getMessage(), cause);
+                    failures.put(future.getKey(), cause);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
         }
+        return failures;
+    }
 
-    } catch (Exception e) {
-        logger.error("Fatal error during execution: {}", e.getMessage(), e);
-        System.exit(1);
+    private static void logRunSummary(String operation, List<String> targetLanguages, Map<String, Exception> failures) {
+        for (String targetLanguage : targetLanguages) {
+            Exception failure = failures.get(targetLanguage);
+            if (failure == null) {
+                logger.info("{} for language {}: SUCCEEDED", operation, targetLanguage);
+            } else {
+                logger.error("{} for language {}: FAILED ({})", operation, targetLanguage, failure.getMessage());
+            }
+        }
+        logger.info("{} finished: {} succeeded, {} failed", operation, targetLanguages.size() - failures.size(), failures.size());
     }
-}
 
-    private static void processMultipleGlossaryUpdates(String[] args, GlossaryManager glossaryManager) {
+    @FunctionalInterface
+    private interface LanguageTask {
+        void run(String targetLanguage) throws Exception;
+    }
+
+    private static Map<String, Exception> processMultipleGlossaryUpdates(String[] args, GlossaryManager glossaryManager) {
         logger.info("Processing multiple glossary updates");
+        Map<String, String> glossaryFiles = new LinkedHashMap<>();
 
         for (int i = 0; i < args.length; i += 3) {
             if (i + 2 >= args.length) {
@@ -119,13 +334,12 @@ public class GoogleTranslateService {
                 continue;
             }
 
-            try {
-                logger.info("Processing glossary update for language: {} with file: {}", targetLanguage, glossaryPath);
-                glossaryManager.processGlossaryUpdate(glossaryPath, targetLanguage);
-                logger.info("Successfully completed glossary update for language: {}", targetLanguage);
-            } catch (IOException e) {
-                logger.error("Error updating glossary for language {}: {}", targetLanguage, e.getMessage(), e);
-            }
+            logger.info("Processing glossary update for language: {} with file: {}", targetLanguage, glossaryPath);
+            glossaryFiles.put(targetLanguage, glossaryPath);
         }
+
+        Map<String, Exception> failures = glossaryManager.processGlossaryUpdates(glossaryFiles);
+        logRunSummary("Glossary update", new ArrayList<>(glossaryFiles.keySet()), failures);
+        return failures;
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.example;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.gax.grpc.GrpcCallContext;
+import com.google.cloud.translate.v3.LocationName;
+import com.google.cloud.translate.v3.TranslateTextGlossaryConfig;
+import com.google.cloud.translate.v3.TranslateTextRequest;
+import com.google.cloud.translate.v3.TranslateTextResponse;
+import com.google.cloud.translate.v3.Translation;
+import com.google.cloud.translate.v3.TranslationServiceClient;
+import org.threeten.bp.Duration;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+public class GoogleTranslationBackend implements TranslationBackend {
+    private final ConfigManager configManager;
+    private final ClientProvider clientProvider;
+
+    public GoogleTranslationBackend(ConfigManager configManager, ClientProvider clientProvider) {
+        this.configManager = configManager;
+        this.clientProvider = clientProvider;
+    }
+
+    @Override
+    public CompletableFuture<List<String>> translateAsync(List<String> contents, String targetLanguage, String glossaryName, long deadlineMillis) {
+        TranslationServiceClient client;
+        try {
+            client = clientProvider.getTranslationClient();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        TranslateTextRequest.Builder requestBuilder = TranslateTextRequest.newBuilder()
+                .setParent(LocationName.of(configManager.getProjectId(), configManager.getLocation()).toString())
+                .setMimeType("text/plain")
+                .setSourceLanguageCode("en")
+                .setTargetLanguageCode(targetLanguage)
+                .addAllContents(contents);
+        if (glossaryName != null) {
+            requestBuilder.setGlossaryConfig(TranslateTextGlossaryConfig.newBuilder().setGlossary(glossaryName).build());
+        }
+
+        // Replaces the client's default timeout, which is sized for the largest request rather than this one.
+        GrpcCallContext context = GrpcCallContext.createDefault().withTimeout(Duration.ofMillis(deadlineMillis));
+        ApiFuture<TranslateTextResponse> call = client.translateTextCallable().futureCall(requestBuilder.build(), context);
+        CompletableFuture<List<String>> result = toCompletableFuture(call).thenApply(response -> translatedTexts(response, glossaryName != null));
+        // Cancelling the result, as hedging does with the slower call, cancels the RPC instead of waiting out its deadline.
+        result.whenComplete((texts, failure) -> {
+            if (failure instanceof CancellationException) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static List<String> translatedTexts(TranslateTextResponse response, boolean withGlossary) {
+        List<Translation> translations = withGlossary ? response.getGlossaryTranslationsList() : response.getTranslationsList();
+        List<String> texts = new ArrayList<>(translations.size());
+        for (Translation translation : translations) {
+            texts.add(translation.getTranslatedText());
+        }
+        return texts;
+    }
+
+    static <T> CompletableFuture<T> toCompletableFuture(ApiFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.addListener(() -> {
+            try {
+                result.complete(future.get());
+            } catch (ExecutionException e) {
+                result.completeExceptionally(e.getCause());
+            } catch (InterruptedException | CancellationException e) {
+                result.completeExceptionally(e);
+            }
+        }, Runnable::run);
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.example;
+
+import java.util.Arrays;
+
+// The most recent latencies, up to a fixed number, for exact percentiles over a sliding window.
+final class LatencyWindow {
+    private final long[] samples;
+    private int count;
+    private int next;
+
+    LatencyWindow(int capacity) {
+        this.samples = new long[Math.max(1, capacity)];
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    // Nearest-rank percentile, or -1 when nothing was recorded.
+    synchronized long percentileNanos(double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+}
\ No newline at end of file
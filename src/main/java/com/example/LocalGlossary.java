@@ -0,0 +1,180 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Glossary terms applied locally from the glossary CSV, so an edit takes effect on the next run without a
+// remote glossary. "protect" swaps matched terms for {gN} placeholders before translation and puts the target
+// terms back afterwards; "verify" translates the text as-is and repairs terms the backend left untranslated.
+// A protected translation that lost a placeholder reports it as missing, and the caller retranslates it in verify mode.
+public class LocalGlossary {
+    private static final Logger logger = LoggerFactory.getLogger(LocalGlossary.class);
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\s*g(\\d+)\\s*}");
+
+    private final List<String> targets;
+    private final GlossaryIndex index;
+
+    private LocalGlossary(List<String> sources, List<String> targets) {
+        this.targets = targets;
+        this.index = new GlossaryIndex(sources);
+    }
+
+    public static LocalGlossary load(Path glossaryFile, String targetLanguage) throws IOException {
+        long start = System.nanoTime();
+        Map<String, String> terms = readTerms(glossaryFile, targetLanguage);
+        LocalGlossary glossary = new LocalGlossary(new ArrayList<>(terms.keySet()), new ArrayList<>(terms.values()));
+        logger.info("Loaded local glossary {} with {} terms in {} ms", glossaryFile, terms.size(), (System.nanoTime() - start) / 1_000_000);
+        return glossary;
+    }
+
+    // Source term to target term in file order, without the EN,<lang> header line.
+    static Map<String, String> readTerms(Path glossaryFile, String targetLanguage) throws IOException {
+        Map<String, String> terms = new LinkedHashMap<>();
+        int duplicates = 0;
+        try (BufferedReader reader = Files.newBufferedReader(glossaryFile, StandardCharsets.UTF_8)) {
+            String line;
+            boolean firstLine = true;
+            while ((line = reader.readLine()) != null) {
+                List<String> fields = parseCsvLine(line);
+                boolean header = firstLine && fields.size() >= 2
+                        && fields.get(0).equalsIgnoreCase("en") && fields.get(1).equalsIgnoreCase(targetLanguage);
+                firstLine = false;
+                if (header || fields.size() < 2 || fields.get(0).isEmpty() || fields.get(1).isEmpty()) {
+                    continue;
+                }
+                if (terms.putIfAbsent(fields.get(0), fields.get(1)) != null) {
+                    duplicates++;
+                }
+            }
+        }
+        if (duplicates > 0) {
+            logger.warn("Glossary file {} defines {} duplicate source terms; the first definition is used", glossaryFile, duplicates);
+        }
+        return terms;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public Protected protect(String text) {
+        // A value that already looks like it has our placeholders is sent unprotected rather than risk a wrong restore.
+        if (PLACEHOLDER.matcher(text).find()) {
+            return new Protected(text, new int[0]);
+        }
+        List<GlossaryIndex.Match> matches = index.findAll(text);
+        if (matches.isEmpty()) {
+            return new Protected(text, new int[0]);
+        }
+        StringBuilder protectedText = new StringBuilder(text.length());
+        int[] terms = new int[matches.size()];
+        int position = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            GlossaryIndex.Match match = matches.get(i);
+            protectedText.append(text, position, match.start()).append("{g").append(i).append('}');
+            terms[i] = match.term();
+            position = match.end();
+        }
+        protectedText.append(text, position, text.length());
+        return new Protected(protectedText.toString(), terms);
+    }
+
+    public Applied restore(Protected protectedText, String translation) {
+        int[] terms = protectedText.terms();
+        if (terms.length == 0) {
+            return new Applied(translation, 0, 0, 0);
+        }
+        boolean[] restored = new boolean[terms.length];
+        Matcher matcher = PLACEHOLDER.matcher(translation);
+        StringBuilder result = new StringBuilder(translation.length());
+        while (matcher.find()) {
+            int placeholder = Integer.parseInt(matcher.group(1));
+            if (placeholder < terms.length) {
+                matcher.appendReplacement(result, Matcher.quoteReplacement(targets.get(terms[placeholder])));
+                restored[placeholder] = true;
+            }
+        }
+        matcher.appendTail(result);
+        int missing = 0;
+        for (boolean placeholderRestored : restored) {
+            if (!placeholderRestored) {
+                missing++;
+            }
+        }
+        return new Applied(result.toString(), terms.length - missing, 0, missing);
+    }
+
+    public Applied verify(String source, String translation) {
+        List<GlossaryIndex.Match> matches = index.findAll(source);
+        if (matches.isEmpty()) {
+            return new Applied(translation, 0, 0, 0);
+        }
+        String result = translation;
+        int applied = 0;
+        int repaired = 0;
+        int missing = 0;
+        for (GlossaryIndex.Match match : matches) {
+            String target = targets.get(match.term());
+            String term = source.substring(match.start(), match.end());
+            if (result.toLowerCase(Locale.ROOT).contains(target.toLowerCase(Locale.ROOT))) {
+                applied++;
+            } else if (result.contains(term)) {
+                // The backend passed the source term through; that is the one spot we can repair with certainty.
+                int at = result.indexOf(term);
+                result = result.substring(0, at) + target + result.substring(at + term.length());
+                repaired++;
+            } else {
+                missing++;
+            }
+        }
+        return new Applied(result, applied, repaired, missing);
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.toString().isBlank()) {
+                field.setLength(0);
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    public record Protected(String text, int[] terms) {
+    }
+
+    public record Applied(String text, int applied, int repaired, int missing) {
+    }
+}
\ No newline at end of file
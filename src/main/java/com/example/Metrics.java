@@ -0,0 +1,230 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Minimal in-process metrics registry. Instruments are created once and cached by callers; recording is a
+// LongAdder or AtomicLongArray increment, so it is safe to use on the per-entry and per-request paths.
+public class Metrics {
+    private static final Logger logger = LoggerFactory.getLogger(Metrics.class);
+    private static final double[] DURATION_BUCKETS_SECONDS = {
+            0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 300
+    };
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+
+    // Labels are given as alternating name/value pairs.
+    public Counter counter(String name, String... labels) {
+        return counters.computeIfAbsent(series(name, labels), key -> new Counter());
+    }
+
+    public Histogram histogram(String name, String... labels) {
+        return histograms.computeIfAbsent(series(name, labels), key -> new Histogram(DURATION_BUCKETS_SECONDS));
+    }
+
+    public void gauge(String name, LongSupplier value, String... labels) {
+        gauges.put(series(name, labels), value);
+    }
+
+    public void writePrometheus(Writer writer) throws IOException {
+        String lastName = null;
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            lastName = writeType(writer, entry.getKey(), "counter", lastName);
+            writer.write(entry.getKey() + " " + entry.getValue().get() + "\n");
+        }
+        for (Map.Entry<String, LongSupplier> entry : gauges.entrySet()) {
+            lastName = writeType(writer, entry.getKey(), "gauge", lastName);
+            writer.write(entry.getKey() + " " + entry.getValue().getAsLong() + "\n");
+        }
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            lastName = writeType(writer, entry.getKey(), "histogram", lastName);
+            String name = nameOf(entry.getKey());
+            String labels = labelsOf(entry.getKey());
+            String labelPrefix = labels.isEmpty() ? "" : labels + ",";
+            Histogram histogram = entry.getValue();
+            long cumulative = 0;
+            for (int i = 0; i < histogram.bounds.length; i++) {
+                cumulative += histogram.buckets.get(i);
+                writer.write(name + "_bucket{" + labelPrefix + "le=\"" + histogram.bounds[i] + "\"} " + cumulative + "\n");
+            }
+            writer.write(name + "_bucket{" + labelPrefix + "le=\"+Inf\"} " + histogram.getCount() + "\n");
+            String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+            writer.write(name + "_sum" + suffix + " " + String.format(Locale.ROOT, "%.6f", histogram.getSumSeconds()) + "\n");
+            writer.write(name + "_count" + suffix + " " + histogram.getCount() + "\n");
+        }
+    }
+
+    public void writeJson(Writer writer) throws IOException {
+        writer.write("{\n  \"counters\": [");
+        String separator = "\n";
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            writer.write(separator + "    {" + jsonSeries(entry.getKey()) + ", \"value\": " + entry.getValue().get() + "}");
+            separator = ",\n";
+        }
+        writer.write("\n  ],\n  \"gauges\": [");
+        separator = "\n";
+        for (Map.Entry<String, LongSupplier> entry : gauges.entrySet()) {
+            writer.write(separator + "    {" + jsonSeries(entry.getKey()) + ", \"value\": " + entry.getValue().getAsLong() + "}");
+            separator = ",\n";
+        }
+        writer.write("\n  ],\n  \"histograms\": [");
+        separator = "\n";
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            writer.write(separator + "    {" + jsonSeries(entry.getKey()) + String.format(Locale.ROOT,
+                    ", \"count\": %d, \"sumSeconds\": %.6f, \"p50Seconds\": %s, \"p99Seconds\": %s}",
+                    histogram.getCount(), histogram.getSumSeconds(), histogram.percentileUpperBound(50), histogram.percentileUpperBound(99)));
+            separator = ",\n";
+        }
+        writer.write("\n  ]\n}\n");
+    }
+
+    // Writes JSON when the path ends in .json and the Prometheus text format otherwise.
+    public void export(String exportPath) {
+        if (exportPath == null || exportPath.isBlank()) {
+            return;
+        }
+        Path path = Paths.get(exportPath);
+        try {
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                if (exportPath.endsWith(".json")) {
+                    writeJson(writer);
+                } else {
+                    writePrometheus(writer);
+                }
+            }
+            logger.info("Exported metrics to {}", path);
+        } catch (IOException e) {
+            logger.warn("Failed to export metrics to {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String series(String name, String... labels) {
+        if (labels.length == 0) {
+            return name;
+        }
+        StringBuilder series = new StringBuilder(name).append('{');
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (i > 0) {
+                series.append(',');
+            }
+            series.append(labels[i]).append("=\"")
+                    .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return series.append('}').toString();
+    }
+
+    private static String nameOf(String series) {
+        int brace = series.indexOf('{');
+        return brace < 0 ? series : series.substring(0, brace);
+    }
+
+    private static String labelsOf(String series) {
+        int brace = series.indexOf('{');
+        return brace < 0 ? "" : series.substring(brace + 1, series.length() - 1);
+    }
+
+    private static String writeType(Writer writer, String series, String type, String lastName) throws IOException {
+        String name = nameOf(series);
+        if (!name.equals(lastName)) {
+            writer.write("# TYPE " + name + " " + type + "\n");
+        }
+        return name;
+    }
+
+    private static String jsonSeries(String series) {
+        StringBuilder json = new StringBuilder("\"name\": \"").append(nameOf(series)).append("\", \"labels\": {");
+        String labels = labelsOf(series);
+        if (!labels.isEmpty()) {
+            // Label values are already escaped Prometheus-style, which is also valid inside JSON strings.
+            json.append(labels.replaceAll("(^|,)([a-zA-Z_][a-zA-Z0-9_]*)=", "$1\"$2\": ").replace(",\"", ", \""));
+        }
+        return json.append('}').toString();
+    }
+
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    public static final class Histogram {
+        private final double[] bounds;
+        private final long[] boundsNanos;
+        private final AtomicLongArray buckets;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumNanos = new LongAdder();
+
+        private Histogram(double[] boundsSeconds) {
+            this.bounds = boundsSeconds;
+            this.boundsNanos = new long[boundsSeconds.length];
+            for (int i = 0; i < boundsSeconds.length; i++) {
+                boundsNanos[i] = (long) (boundsSeconds[i] * 1_000_000_000L);
+            }
+            this.buckets = new AtomicLongArray(boundsSeconds.length + 1);
+        }
+
+        public void recordNanos(long nanos) {
+            int bucket = 0;
+            while (bucket < boundsNanos.length && nanos > boundsNanos[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.increment();
+            sumNanos.add(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getSumSeconds() {
+            return sumNanos.sum() / 1e9;
+        }
+
+        // Upper bound of the bucket holding the requested percentile ("+Inf" past the last bound).
+        public String percentileUpperBound(double percentile) {
+            long total = getCount();
+            if (total == 0) {
+                return "null";
+            }
+            long rank = (long) Math.ceil(percentile / 100 * total);
+            long cumulative = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                cumulative += buckets.get(i);
+                if (cumulative >= rank) {
+                    return String.valueOf(bounds[i]);
+                }
+            }
+            return "\"+Inf\"";
+        }
+    }
+}
\ No newline at end of file
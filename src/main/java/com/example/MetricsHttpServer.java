@@ -0,0 +1,69 @@
+package com.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Serves /metrics (Prometheus text format) and /metrics.json while a run is in progress.
+public class MetricsHttpServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsHttpServer.class);
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private MetricsHttpServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static MetricsHttpServer start(String bindAddress, int port, Metrics metrics) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        register(server, metrics);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Serving metrics on http://{}:{}/metrics", bindAddress, server.getAddress().getPort());
+        return new MetricsHttpServer(server, executor);
+    }
+
+    // Also used by the daemon to serve metrics next to its own endpoints.
+    static void register(HttpServer server, Metrics metrics) {
+        server.createContext("/metrics", exchange -> respond(exchange, metrics, false));
+        server.createContext("/metrics.json", exchange -> respond(exchange, metrics, true));
+    }
+
+    private static void respond(HttpExchange exchange, Metrics metrics, boolean json) throws IOException {
+        try (exchange) {
+            StringWriter body = new StringWriter();
+            if (json) {
+                metrics.writeJson(body);
+            } else {
+                metrics.writePrometheus(body);
+            }
+            byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", json ? "application/json" : "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
\ No newline at end of file
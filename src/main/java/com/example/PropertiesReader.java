@@ -0,0 +1,93 @@
+package com.example;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class PropertiesReader implements Iterator<PropertyEntry>, Closeable {
+    private final BufferedReader reader;
+    private final List<String> currentLines = new ArrayList<>();
+    private String currentKey;
+    private PropertyEntry.EntryType currentType;
+    private PropertyEntry nextEntry;
+    private boolean finished;
+
+    public PropertiesReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextEntry == null && !finished) {
+            try {
+                nextEntry = readNextEntry();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return nextEntry != null;
+    }
+
+    @Override
+    public PropertyEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PropertyEntry entry = nextEntry;
+        nextEntry = null;
+        return entry;
+    }
+
+    private PropertyEntry readNextEntry() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            PropertyEntry completedEntry = null;
+            if (line.trim().startsWith("#")) {
+                completedEntry = completeCurrentEntry();
+                currentKey = line;
+                currentLines.add(line);
+                currentType = PropertyEntry.EntryType.COMMENT;
+            } else if (line.trim().isEmpty()) {
+                completedEntry = completeCurrentEntry();
+                currentKey = "";
+                currentLines.add(line);
+                currentType = PropertyEntry.EntryType.EMPTY_LINE;
+            } else {
+                int separatorIndex = line.indexOf('=');
+                if (separatorIndex > 0 && (currentType != PropertyEntry.EntryType.PROPERTY || !currentLines.get(currentLines.size() - 1).trim().endsWith("\\"))) {
+                    completedEntry = completeCurrentEntry();
+                    currentKey = line.substring(0, separatorIndex).trim();
+                    currentLines.add(line);
+                    currentType = PropertyEntry.EntryType.PROPERTY;
+                } else {
+                    currentLines.add(line);
+                }
+            }
+            if (completedEntry != null) {
+                return completedEntry;
+            }
+        }
+        finished = true;
+        return completeCurrentEntry();
+    }
+
+    private PropertyEntry completeCurrentEntry() {
+        if (currentType == null) {
+            return null;
+        }
+        PropertyEntry entry = new PropertyEntry(currentKey, new ArrayList<>(currentLines), currentType);
+        currentLines.clear();
+        currentType = null;
+        return entry;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
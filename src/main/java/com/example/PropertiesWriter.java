@@ -0,0 +1,54 @@
+package com.example;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class PropertiesWriter implements Closeable {
+    private final Path targetPath;
+    private final Path tempPath;
+    private final BufferedWriter writer;
+    private int entriesWritten;
+    private boolean committed;
+
+    private PropertiesWriter(Path targetPath, Path tempPath) throws IOException {
+        this.targetPath = targetPath;
+        this.tempPath = tempPath;
+        this.writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8);
+    }
+
+    public static PropertiesWriter open(Path target) throws IOException {
+        Path targetPath = target.toAbsolutePath();
+        Path tempPath = FileIO.createTempFileFor(targetPath);
+        return new PropertiesWriter(targetPath, tempPath);
+    }
+
+    public void write(PropertyEntry entry) throws IOException {
+        for (String line : entry.lines) {
+            writer.write(line);
+            writer.newLine();
+        }
+        entriesWritten++;
+    }
+
+    public int getEntriesWritten() {
+        return entriesWritten;
+    }
+
+    public void commit() throws IOException {
+        writer.close();
+        FileIO.moveAtomically(tempPath, targetPath);
+        committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            writer.close();
+            Files.deleteIfExists(tempPath);
+        }
+    }
+}
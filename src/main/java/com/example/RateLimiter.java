@@ -0,0 +1,39 @@
+package com.example;
+
+import java.util.concurrent.TimeUnit;
+
+public class RateLimiter {
+    private final double permitsPerSecond;
+    private double availablePermits;
+    private long lastRefillNanos;
+
+    public RateLimiter(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.availablePermits = permitsPerSecond;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public void acquire(int permits) throws InterruptedException {
+        if (permitsPerSecond <= 0 || permits <= 0) {
+            return;
+        }
+
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            availablePermits = Math.min(permitsPerSecond, availablePermits + (now - lastRefillNanos) * permitsPerSecond / 1_000_000_000d);
+            lastRefillNanos = now;
+
+            // Requests larger than the bucket are allowed by going into debt; later callers pay the wait.
+            availablePermits -= permits;
+            waitNanos = availablePermits >= 0 ? 0 : (long) (-availablePermits / permitsPerSecond * 1_000_000_000d);
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+}
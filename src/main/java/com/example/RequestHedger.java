@@ -0,0 +1,44 @@
+package com.example;
+
+// Decides when a call that has not answered yet is sent a second time. The delay is a percentile of recent call
+// latencies, so only calls slower than nearly all others are duplicated, and each call sent earns a fraction of a
+// hedge that the hedge then spends, which keeps hedges to that fraction of all calls even when every call is slow.
+public class RequestHedger {
+    private static final int WINDOW = 256;
+    // Hedges that can be saved up while calls are fast and spent at once when a stall hits several of them.
+    private static final double MAX_BURST = 10;
+
+    private final double percentile;
+    private final double budget;
+    private final int minSamples;
+    private final LatencyWindow latencies = new LatencyWindow(WINDOW);
+    private double tokens;
+
+    public RequestHedger(double percentile, double budget, int minSamples) {
+        this.percentile = percentile;
+        this.budget = budget;
+        this.minSamples = Math.max(1, minSamples);
+    }
+
+    // Latency of a call that succeeded, from sending it to its answer.
+    public void record(long nanos) {
+        latencies.record(nanos);
+    }
+
+    public synchronized void requestSent() {
+        tokens = Math.min(MAX_BURST, tokens + budget);
+    }
+
+    // How long a call just sent may take before it is hedged, or -1 while too few latencies are known to tell.
+    public long hedgeDelayNanos() {
+        return latencies.size() < minSamples ? -1 : latencies.percentileNanos(percentile);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
\ No newline at end of file
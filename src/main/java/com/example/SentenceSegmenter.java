@@ -0,0 +1,163 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Splits a cleaned property value into sentences so each one is translated and cached on its own. A boundary is
+// a terminator followed by whitespace and a sentence start; it is never placed after a known abbreviation or an
+// initial, inside a MessageFormat placeholder such as {0} or {1,choice,...}, or inside an HTML element, so the
+// markup and arguments of a value always travel to the API in one piece.
+final class SentenceSegmenter {
+    private static final Set<String> VOID_ELEMENTS = Set.of("br", "hr", "img", "input", "meta", "link", "wbr", "area", "col", "source");
+
+    private final Set<String> abbreviations = new HashSet<>();
+
+    // Abbreviations are matched case-insensitively, with their trailing period.
+    SentenceSegmenter(List<String> abbreviations) {
+        for (String abbreviation : abbreviations) {
+            String trimmed = abbreviation.trim();
+            if (!trimmed.isEmpty()) {
+                this.abbreviations.add(trimmed.toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    List<String> split(String text) {
+        List<String> sentences = new ArrayList<>();
+        int braceDepth = 0;
+        int elementDepth = 0;
+        int start = 0;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '{') {
+                braceDepth++;
+            } else if (c == '}') {
+                braceDepth = Math.max(0, braceDepth - 1);
+            } else if (c == '<' && isTagStart(text, i)) {
+                int end = text.indexOf('>', i);
+                if (end > 0) {
+                    elementDepth = Math.max(0, elementDepth + elementDepthChange(text, i, end));
+                    i = end + 1;
+                    continue;
+                }
+            } else if (braceDepth == 0 && elementDepth == 0 && isTerminator(c)) {
+                int boundary = sentenceBoundary(text, start, i);
+                if (boundary > 0) {
+                    sentences.add(text.substring(start, boundary).trim());
+                    start = boundary;
+                    while (start < text.length() && Character.isWhitespace(text.charAt(start))) {
+                        start++;
+                    }
+                    i = start;
+                    continue;
+                }
+            }
+            i++;
+        }
+        String last = text.substring(start).trim();
+        if (!last.isEmpty() || sentences.isEmpty()) {
+            sentences.add(last);
+        }
+        return sentences;
+    }
+
+    // Languages written without spaces end their sentences with full-width punctuation and join them directly.
+    static String join(List<String> sentences) {
+        StringBuilder joined = new StringBuilder();
+        for (String sentence : sentences) {
+            if (sentence.isEmpty()) {
+                continue;
+            }
+            if (joined.length() > 0 && !isFullWidthTerminator(joined.charAt(joined.length() - 1))) {
+                joined.append(' ');
+            }
+            joined.append(sentence);
+        }
+        return joined.toString();
+    }
+
+    // The index after the terminator at position, its repeats and closing quotes, or -1 when no sentence ends there.
+    private int sentenceBoundary(String text, int start, int position) {
+        char terminator = text.charAt(position);
+        int end = position + 1;
+        while (end < text.length() && (isTerminator(text.charAt(end)) || isClosingPunctuation(text.charAt(end)))) {
+            end++;
+        }
+        if (isFullWidthTerminator(terminator)) {
+            return end < text.length() ? end : -1;
+        }
+        int next = end;
+        while (next < text.length() && Character.isWhitespace(text.charAt(next))) {
+            next++;
+        }
+        if (next == end || next == text.length() || Character.isLowerCase(text.charAt(next))) {
+            return -1;
+        }
+        if (terminator == '.' && end == position + 1 && isAbbreviation(text, start, position)) {
+            return -1;
+        }
+        return end;
+    }
+
+    private boolean isAbbreviation(String text, int start, int period) {
+        int wordStart = period;
+        while (wordStart > start && !Character.isWhitespace(text.charAt(wordStart - 1))) {
+            wordStart--;
+        }
+        String word = text.substring(wordStart, period + 1);
+        while (word.length() > 1 && isOpeningPunctuation(word.charAt(0))) {
+            word = word.substring(1);
+        }
+        // Initials such as "J. Smith".
+        if (word.length() == 2 && Character.isLetter(word.charAt(0))) {
+            return true;
+        }
+        return abbreviations.contains(word.toLowerCase(Locale.ROOT));
+    }
+
+    // A '<' followed by a tag name, '/', '!' or '?'; anything else is a literal, as in "a < b".
+    private static boolean isTagStart(String text, int open) {
+        if (open + 1 >= text.length()) {
+            return false;
+        }
+        char next = text.charAt(open + 1);
+        return Character.isLetter(next) || next == '/' || next == '!' || next == '?';
+    }
+
+    // +1 for an opening tag, -1 for a closing one, 0 for void and self-closing elements, comments and declarations.
+    private static int elementDepthChange(String text, int open, int close) {
+        if (text.charAt(open + 1) == '!' || text.charAt(open + 1) == '?' || text.charAt(close - 1) == '/') {
+            return 0;
+        }
+        boolean closing = text.charAt(open + 1) == '/';
+        int nameStart = closing ? open + 2 : open + 1;
+        int nameEnd = nameStart;
+        while (nameEnd < close && Character.isLetterOrDigit(text.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        if (nameEnd == nameStart || VOID_ELEMENTS.contains(text.substring(nameStart, nameEnd).toLowerCase(Locale.ROOT))) {
+            return 0;
+        }
+        return closing ? -1 : 1;
+    }
+
+    private static boolean isTerminator(char c) {
+        return c == '.' || c == '!' || c == '?' || c == '…' || isFullWidthTerminator(c);
+    }
+
+    private static boolean isFullWidthTerminator(char c) {
+        return c == '。' || c == '！' || c == '？';
+    }
+
+    private static boolean isClosingPunctuation(char c) {
+        return c == '"' || c == '\'' || c == ')' || c == ']' || c == '”' || c == '’' || c == '»';
+    }
+
+    private static boolean isOpeningPunctuation(char c) {
+        return c == '"' || c == '\'' || c == '(' || c == '[' || c == '“' || c == '‘' || c == '«';
+    }
+}
\ No newline at end of file
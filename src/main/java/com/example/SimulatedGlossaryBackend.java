@@ -0,0 +1,93 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Keeps created glossaries in memory so glossary workflows can run without Cloud Storage or the
+// Translation API. Every operation takes the configured glossary latency.
+public class SimulatedGlossaryBackend implements GlossaryBackend {
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedGlossaryBackend.class);
+    private final long operationLatencyMillis;
+    private final Map<String, GlossaryInfo> glossaries = new ConcurrentHashMap<>();
+    private final Map<String, Integer> uploadedEntryCounts = new ConcurrentHashMap<>();
+
+    public SimulatedGlossaryBackend(ConfigManager configManager) {
+        this(configManager.getSimulatedGlossaryLatencyMillis());
+    }
+
+    public SimulatedGlossaryBackend(long operationLatencyMillis) {
+        this.operationLatencyMillis = operationLatencyMillis;
+    }
+
+    @Override
+    public String glossaryName(String targetLanguage) {
+        return "simulated/glossaries/glossary-" + targetLanguage.toLowerCase();
+    }
+
+    @Override
+    public GlossaryInfo describeGlossary(String targetLanguage) throws IOException {
+        simulateLatency();
+        return glossaries.get(glossaryName(targetLanguage));
+    }
+
+    @Override
+    public void uploadGlossary(Path glossaryFile, String targetLanguage) throws IOException {
+        // Entry count as the real service would report it: non-blank lines minus the header.
+        long lines;
+        try (Stream<String> content = Files.lines(glossaryFile, StandardCharsets.UTF_8)) {
+            lines = content.filter(line -> !line.isBlank()).count();
+        }
+        simulateLatency();
+        uploadedEntryCounts.put(targetLanguage, (int) Math.max(0, lines - 1));
+        logger.info("Simulated upload of glossary file {} ({} bytes) for language {}", glossaryFile, Files.size(glossaryFile), targetLanguage);
+    }
+
+    @Override
+    public CompletableFuture<Void> createGlossaryAsync(String targetLanguage) {
+        return CompletableFuture.runAsync(() -> {
+            String name = glossaryName(targetLanguage);
+            GlossaryInfo info = new GlossaryInfo(name, uploadedEntryCounts.getOrDefault(targetLanguage, 0), System.currentTimeMillis());
+            if (glossaries.putIfAbsent(name, info) != null) {
+                logger.info("Glossary already exists. Proceeding with existing glossary.");
+                return;
+            }
+            logger.info("Successfully created simulated glossary: {}", name);
+        }, operationDelay());
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteGlossaryAsync(String targetLanguage) {
+        return CompletableFuture.runAsync(() -> {
+            if (glossaries.remove(glossaryName(targetLanguage)) != null) {
+                logger.info("Successfully deleted simulated glossary: {}", glossaryName(targetLanguage));
+            } else {
+                logger.info("Glossary not found. No deletion required: {}", glossaryName(targetLanguage));
+            }
+        }, operationDelay());
+    }
+
+    // Long-running operations complete after the configured latency without holding a thread while they wait.
+    private Executor operationDelay() {
+        return CompletableFuture.delayedExecutor(operationLatencyMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void simulateLatency() throws IOException {
+        try {
+            Thread.sleep(operationLatencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during simulated glossary operation", e);
+        }
+    }
+}
\ No newline at end of file
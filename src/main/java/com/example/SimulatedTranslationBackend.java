@@ -0,0 +1,160 @@
+package com.example;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// In-process stand-in for the Translation API used for load tests and offline runs. Latency follows a
+// log-normal distribution fitted to the configured median and p99, with rare stalls on top of it, errors are
+// injected at a fixed rate, and a per-second character quota answers RESOURCE_EXHAUSTED the way the real API
+// does when throttling.
+public class SimulatedTranslationBackend implements TranslationBackend {
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedTranslationBackend.class);
+    private static final double P99_STANDARD_SCORE = 2.3263;
+    private static final String PLAIN_LETTERS = "aeiouAEIOUcn";
+    private static final String ACCENTED_LETTERS = "áéíóúÁÉÍÓÚçñ";
+
+    private final double latencyMu;
+    private final double latencySigma;
+    private final long perThousandCharactersMillis;
+    private final double errorRate;
+    private final double stallRate;
+    private final long stallMillis;
+    private final int quotaCharactersPerSecond;
+    private final Random random;
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "simulated-backend");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private double quotaTokens;
+    private long quotaRefilledAt = System.nanoTime();
+
+    public SimulatedTranslationBackend(ConfigManager configManager) {
+        this(configManager.getSimulatedLatencyMedianMillis(), configManager.getSimulatedLatencyP99Millis(),
+                configManager.getSimulatedLatencyPerThousandCharactersMillis(), configManager.getSimulatedErrorRate(),
+                configManager.getSimulatedQuotaCharactersPerSecond(), configManager.getSimulatedStallRate(),
+                configManager.getSimulatedStallMillis(), configManager.getSimulatedSeed());
+    }
+
+    public SimulatedTranslationBackend(long latencyMedianMillis, long latencyP99Millis, long perThousandCharactersMillis,
+                                       double errorRate, int quotaCharactersPerSecond, double stallRate, long stallMillis, long seed) {
+        double median = Math.max(1, latencyMedianMillis);
+        this.latencyMu = Math.log(median);
+        this.latencySigma = Math.max(0, Math.log(Math.max(median, latencyP99Millis) / median) / P99_STANDARD_SCORE);
+        this.perThousandCharactersMillis = perThousandCharactersMillis;
+        this.errorRate = errorRate;
+        this.stallRate = stallRate;
+        this.stallMillis = stallMillis;
+        this.quotaCharactersPerSecond = quotaCharactersPerSecond;
+        this.quotaTokens = quotaCharactersPerSecond;
+        this.random = new Random(seed);
+        logger.info("Using simulated translation backend (latency median: {} ms, p99: {} ms, stalls: {} of {} ms, error rate: {}, quota: {} characters/s)",
+                latencyMedianMillis, latencyP99Millis, stallRate, stallMillis, errorRate, quotaCharactersPerSecond);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> translateAsync(List<String> contents, String targetLanguage, String glossaryName, long deadlineMillis) {
+        int characters = 0;
+        for (String content : contents) {
+            characters += content.length();
+        }
+
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        if (!tryAcquireQuota(characters)) {
+            scheduler.schedule(() -> result.completeExceptionally(failure(StatusCode.Code.RESOURCE_EXHAUSTED,
+                    "Simulated quota of " + quotaCharactersPerSecond + " characters per second exceeded")), 1, TimeUnit.MILLISECONDS);
+            return result;
+        }
+
+        long latencyMillis = sampleLatencyMillis(characters);
+        boolean fail = random.nextDouble() < errorRate;
+        if (latencyMillis > deadlineMillis) {
+            scheduler.schedule(() -> result.completeExceptionally(failure(StatusCode.Code.DEADLINE_EXCEEDED,
+                    "Simulated call exceeded its deadline of " + deadlineMillis + " ms")), deadlineMillis, TimeUnit.MILLISECONDS);
+            return result;
+        }
+        scheduler.schedule(() -> {
+            if (fail) {
+                result.completeExceptionally(failure(StatusCode.Code.UNAVAILABLE, "Simulated transient failure"));
+                return;
+            }
+            List<String> translations = new ArrayList<>(contents.size());
+            for (String content : contents) {
+                translations.add(pseudoTranslate(content, targetLanguage));
+            }
+            result.complete(translations);
+        }, latencyMillis, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    // Deterministic pseudo-localisation: accents vowels and a few consonants and prefixes the language,
+    // leaving {0}-style placeholders and markup tags untouched so formatting round-trips can be checked.
+    static String pseudoTranslate(String text, String targetLanguage) {
+        StringBuilder result = new StringBuilder(text.length() + targetLanguage.length() + 3);
+        result.append('[').append(targetLanguage).append("] ");
+        char protectedUntil = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (protectedUntil != 0) {
+                if (c == protectedUntil) {
+                    protectedUntil = 0;
+                }
+                result.append(c);
+            } else if (c == '{' || c == '<') {
+                protectedUntil = c == '{' ? '}' : '>';
+                result.append(c);
+            } else {
+                int index = PLAIN_LETTERS.indexOf(c);
+                result.append(index >= 0 ? ACCENTED_LETTERS.charAt(index) : c);
+            }
+        }
+        return result.toString();
+    }
+
+    private long sampleLatencyMillis(int characters) {
+        double latency = Math.exp(latencyMu + latencySigma * random.nextGaussian());
+        // A stalled call, as when a backend replica hangs, takes far longer than the distribution's tail.
+        long stall = random.nextDouble() < stallRate ? stallMillis : 0;
+        return Math.round(latency) + stall + characters * perThousandCharactersMillis / 1000;
+    }
+
+    private synchronized boolean tryAcquireQuota(int characters) {
+        if (quotaCharactersPerSecond <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        quotaTokens = Math.min(quotaCharactersPerSecond, quotaTokens + (now - quotaRefilledAt) / 1e9 * quotaCharactersPerSecond);
+        quotaRefilledAt = now;
+        // A request larger than the whole quota is let through on a full bucket rather than failing forever.
+        if (quotaTokens < characters && quotaTokens < quotaCharactersPerSecond) {
+            return false;
+        }
+        quotaTokens -= characters;
+        return true;
+    }
+
+    static ApiException failure(StatusCode.Code code, String message) {
+        StatusCode statusCode = new StatusCode() {
+            @Override
+            public Code getCode() {
+                return code;
+            }
+
+            @Override
+            public Object getTransportCode() {
+                return code;
+            }
+        };
+        return new ApiException(new RuntimeException(message), statusCode, ApiCallGuard.isRetryable(code));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Interns the cleaned and normalized form of source values for all languages of a run. Every language streams
+// its own copy of the bundle, so without this each value would be cleaned, normalized and segmented once per language.
+final class SourceTexts {
+    // Bounds the daemon, which keeps one instance across many bundles; a run over one bundle stays far below it.
+    private static final int MAX_ENTRIES = 500_000;
+
+    private final Map<String, SourceText> textsByValue = new ConcurrentHashMap<>();
+    private final SentenceSegmenter segmenter;
+
+    // A null segmenter translates every value as a single segment.
+    SourceTexts(SentenceSegmenter segmenter) {
+        this.segmenter = segmenter;
+    }
+
+    // The value is the joined lines of a property entry, key included.
+    SourceText of(String fullValue) {
+        SourceText text = textsByValue.get(fullValue);
+        if (text != null) {
+            return text;
+        }
+        String content = TranslationService.cleanContent(TranslationService.extractContent(fullValue));
+        text = new SourceText(content, TranslationMemory.normalize(content), segments(content));
+        if (textsByValue.size() >= MAX_ENTRIES) {
+            textsByValue.clear();
+        }
+        textsByValue.put(fullValue, text);
+        return text;
+    }
+
+    private List<Segment> segments(String content) {
+        List<String> sentences = segmenter != null ? segmenter.split(content) : List.of(content);
+        List<Segment> segments = new ArrayList<>(sentences.size());
+        for (String sentence : sentences) {
+            segments.add(new Segment(sentence, TranslationMemory.normalize(sentence)));
+        }
+        return List.copyOf(segments);
+    }
+
+    // content is what is sent for translation; normalized identifies equal texts across keys and languages.
+    record SourceText(String content, String normalized, List<Segment> segments) {
+    }
+
+    // One sentence of a value, the unit that is translated and cached.
+    record Segment(String content, String normalized) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface TranslationBackend {
+
+    // Translates each content string from English into the target language. The glossary name is the
+    // one returned by GlossaryBackend#glossaryName, or null to translate without a glossary. Failures are
+    // reported through the future as ApiExceptions so ApiCallGuard can classify and retry them; a call not
+    // answered within the deadline fails with DEADLINE_EXCEEDED. Cancelling the returned future abandons the call.
+    CompletableFuture<List<String>> translateAsync(List<String> contents, String targetLanguage, String glossaryName, long deadlineMillis);
+
+    static TranslationBackend create(ConfigManager configManager, ClientProvider clientProvider) {
+        return switch (configManager.getTranslationBackend()) {
+            case "google" -> new GoogleTranslationBackend(configManager, clientProvider);
+            case "simulated" -> new SimulatedTranslationBackend(configManager);
+            default -> throw new IllegalArgumentException("Unknown translation.backend: " + configManager.getTranslationBackend());
+        };
+    }
+}
\ No newline at end of file
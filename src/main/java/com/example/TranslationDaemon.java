@@ -0,0 +1,327 @@
+package com.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+// Long-running HTTP mode. Clients, the translation memory, glossary state and parsed source bundles stay warm
+// between requests, and every job goes through one TranslationService, so CI jobs sharing an instance also share
+// its rate limiter and concurrency window. Jobs touching the same language are serialized.
+public class TranslationDaemon implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TranslationDaemon.class);
+    private static final Pattern LANGUAGE_CODE = Pattern.compile("^[a-zA-Z]{2,3}(-[a-zA-Z]{2,4})?$");
+    private static final String TEXT = "text/plain; charset=utf-8";
+    private static final String JSON = "application/json";
+
+    private final ConfigManager configManager;
+    private final TranslationMemory translationMemory;
+    private final Metrics metrics;
+    private final TranslationService translationService;
+    private final GlossaryManager glossaryManager;
+    private final BundleCache bundleCache = new BundleCache();
+    private final Map<String, ReentrantLock> languageLocks = new ConcurrentHashMap<>();
+    private final AtomicInteger activeJobs = new AtomicInteger();
+    private final AtomicLong completedJobs = new AtomicLong();
+    private final AtomicLong failedJobs = new AtomicLong();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final long startedAtMillis = System.currentTimeMillis();
+    private HttpServer server;
+    private ExecutorService executor;
+    private boolean closed;
+
+    private TranslationDaemon(ConfigManager configManager, TranslationMemory translationMemory, Metrics metrics,
+                              TranslationService translationService, GlossaryManager glossaryManager) {
+        this.configManager = configManager;
+        this.translationMemory = translationMemory;
+        this.metrics = metrics;
+        this.translationService = translationService;
+        this.glossaryManager = glossaryManager;
+    }
+
+    public static TranslationDaemon start(ConfigManager configManager, TranslationBackend translationBackend, GlossaryBackend glossaryBackend) throws IOException {
+        TranslationMemory translationMemory = TranslationMemory.open(configManager);
+        translationMemory.load();
+        GlossaryRegistry glossaryRegistry = GlossaryRegistry.open(configManager);
+        Metrics metrics = new Metrics();
+        TranslationService translationService = new TranslationService(configManager, translationBackend, glossaryBackend, translationMemory, glossaryRegistry, metrics);
+        GlossaryManager glossaryManager = new GlossaryManager(configManager, glossaryBackend, glossaryRegistry);
+        TranslationDaemon daemon = new TranslationDaemon(configManager, translationMemory, metrics, translationService, glossaryManager);
+        daemon.listen(configManager.getDaemonHttpBindAddress(), configManager.getDaemonHttpPort(), configManager.getDaemonHttpThreads());
+        return daemon;
+    }
+
+    private void listen(String bindAddress, int port, int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "translation-daemon-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        route("/translate/bundle", "POST", this::translateBundle);
+        route("/translate/text", "POST", this::translateText);
+        route("/glossary/update", "POST", this::updateGlossaries);
+        route("/status", "GET", exchange -> new Response(200, JSON, status()));
+        MetricsHttpServer.register(server, metrics);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Translation daemon listening on http://{}:{} with {} request threads", bindAddress, server.getAddress().getPort(), threads);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void awaitTermination() throws InterruptedException {
+        terminated.await();
+    }
+
+    // POST /translate/bundle?languages=de,fr[&delta=true][&glossaryImpact=true][&previous=<file>]
+    private Response translateBundle(HttpExchange exchange) throws Exception {
+        Map<String, String> query = parseQuery(exchange);
+        List<String> languages = languages(query);
+        List<String> args = new ArrayList<>(languages);
+        if (Boolean.parseBoolean(query.get("delta"))) {
+            args.add("--delta");
+        }
+        if (Boolean.parseBoolean(query.get("glossaryImpact"))) {
+            args.add("--glossary-impact");
+        }
+        if (query.containsKey("previous")) {
+            args.add("--previous");
+            args.add(query.get("previous"));
+        }
+        return runJob("translate", languages, args);
+    }
+
+    // POST /glossary/update?languages=de,fr uploads the configured glossary CSV of each language.
+    private Response updateGlossaries(HttpExchange exchange) throws Exception {
+        List<String> languages = languages(parseQuery(exchange));
+        List<String> args = new ArrayList<>();
+        for (String language : languages) {
+            args.addAll(List.of(language, "updateGlossary", configManager.getLocalGlossaryPath(language)));
+        }
+        return runJob("glossary_update", languages, args);
+    }
+
+    // POST /translate/text?language=de with one string per line; the response has one translation per line.
+    private Response translateText(HttpExchange exchange) throws Exception {
+        String language = parseQuery(exchange).get("language");
+        if (language == null || !LANGUAGE_CODE.matcher(language).matches()) {
+            throw new IllegalArgumentException("Parameter 'language' must be a language code");
+        }
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        List<String> texts = body.lines().toList();
+        if (texts.isEmpty()) {
+            throw new IllegalArgumentException("Request body must contain at least one line of text");
+        }
+        List<String> translations = translationService.translateTexts(texts, language);
+        translationMemory.flush();
+        return new Response(200, TEXT, String.join("\n", translations) + "\n");
+    }
+
+    private Response runJob(String operation, List<String> languages, List<String> args) throws Exception {
+        List<ReentrantLock> locks = lockLanguages(languages);
+        activeJobs.incrementAndGet();
+        long start = System.nanoTime();
+        Map<String, Exception> failures = null;
+        try {
+            logger.info("Starting {} job for languages {}", operation, languages);
+            failures = GoogleTranslateService.execute(args.toArray(new String[0]), configManager, translationService, glossaryManager, metrics, bundleCache);
+        } finally {
+            activeJobs.decrementAndGet();
+            locks.forEach(ReentrantLock::unlock);
+            (failures != null && failures.isEmpty() ? completedJobs : failedJobs).incrementAndGet();
+            translationMemory.flush();
+        }
+
+        StringBuilder json = new StringBuilder("{\"operation\": ").append(json(operation))
+                .append(", \"durationMillis\": ").append((System.nanoTime() - start) / 1_000_000)
+                .append(", \"languages\": {");
+        for (int i = 0; i < languages.size(); i++) {
+            Exception failure = failures.get(languages.get(i));
+            json.append(i > 0 ? ", " : "").append(json(languages.get(i))).append(": {\"status\": ")
+                    .append(failure == null ? "\"SUCCEEDED\"}" : "\"FAILED\", \"error\": " + json(String.valueOf(failure.getMessage())) + "}");
+        }
+        json.append("}}\n");
+        return new Response(failures.isEmpty() ? 200 : 500, JSON, json.toString());
+    }
+
+    // Locks are taken in sorted order so two jobs with overlapping languages cannot deadlock.
+    private List<ReentrantLock> lockLanguages(List<String> languages) {
+        List<ReentrantLock> locks = new ArrayList<>();
+        for (String language : new TreeSet<>(languages)) {
+            ReentrantLock lock = languageLocks.computeIfAbsent(language, key -> new ReentrantLock());
+            if (lock.isLocked()) {
+                logger.info("Waiting for the running job on language {}", language);
+            }
+            lock.lock();
+            locks.add(lock);
+        }
+        return locks;
+    }
+
+    private String status() {
+        List<String> busyLanguages = new ArrayList<>();
+        languageLocks.forEach((language, lock) -> {
+            if (lock.isLocked()) {
+                busyLanguages.add(json(language));
+            }
+        });
+        busyLanguages.sort(null);
+        return "{\"uptimeSeconds\": " + (System.currentTimeMillis() - startedAtMillis) / 1000
+                + ", \"activeJobs\": " + activeJobs.get()
+                + ", \"completedJobs\": " + completedJobs.get()
+                + ", \"failedJobs\": " + failedJobs.get()
+                + ", \"busyLanguages\": [" + String.join(", ", busyLanguages) + "]"
+                + ", \"cachedBundles\": " + bundleCache.size()
+                + ", \"translationMemoryEntries\": " + translationMemory.size() + "}\n";
+    }
+
+    private void route(String path, String method, Handler handler) {
+        server.createContext(path, exchange -> {
+            long start = System.nanoTime();
+            Response response;
+            try {
+                if (!path.equals(exchange.getRequestURI().getPath())) {
+                    response = new Response(404, TEXT, "Not found\n");
+                } else if (!method.equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    response = new Response(405, TEXT, "Use " + method + " for " + path + "\n");
+                } else {
+                    response = handler.handle(exchange);
+                }
+            } catch (IllegalArgumentException e) {
+                response = new Response(400, TEXT, e.getMessage() + "\n");
+            } catch (Exception e) {
+                logger.error("Request {} {} failed: {}", exchange.getRequestMethod(), exchange.getRequestURI(), e.getMessage(), e);
+                response = new Response(500, TEXT, e.getMessage() + "\n");
+            }
+            metrics.counter("daemon_requests_total", "endpoint", path, "status", String.valueOf(response.status())).increment();
+            metrics.histogram("daemon_request_duration_seconds", "endpoint", path).recordNanos(System.nanoTime() - start);
+            send(exchange, response);
+        });
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        try (exchange) {
+            byte[] bytes = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", response.contentType());
+            exchange.sendResponseHeaders(response.status(), bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+    }
+
+    private static List<String> languages(Map<String, String> query) {
+        String languages = query.get("languages");
+        if (languages == null || languages.isBlank()) {
+            throw new IllegalArgumentException("Parameter 'languages' is required, e.g. languages=de,fr");
+        }
+        List<String> result = new ArrayList<>();
+        for (String language : languages.split(",")) {
+            String trimmed = language.trim();
+            if (!LANGUAGE_CODE.matcher(trimmed).matches()) {
+                throw new IllegalArgumentException("Invalid language code: " + trimmed);
+            }
+            if (!result.contains(trimmed)) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> query = new LinkedHashMap<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            String[] pair = parameter.split("=", 2);
+            query.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8), pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "");
+        }
+        return query;
+    }
+
+    private static String json(String value) {
+        StringBuilder json = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    // Stops accepting requests, lets running jobs finish, then persists the translation memory and metrics.
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        logger.info("Stopping translation daemon ({} jobs running)", activeJobs.get());
+        server.stop(1);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.MINUTES)) {
+                logger.warn("Translation daemon jobs did not finish in time; stopping them");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        translationService.close();
+        metrics.export(configManager.getMetricsExportPath());
+        try {
+            translationMemory.close();
+        } catch (IOException e) {
+            logger.warn("Error closing translation memory: {}", e.getMessage(), e);
+        }
+        terminated.countDown();
+        logger.info("Translation daemon stopped after {} completed and {} failed jobs", completedJobs.get(), failedJobs.get());
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Response handle(HttpExchange exchange) throws Exception;
+    }
+
+    private record Response(int status, String contentType, String body) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Write-ahead journal of the entries translated by the API for one language. Records are appended as batches
+// complete and forced to disk every few hundred entries, so a run killed halfway (or stopped by the quota)
+// replays them on restart instead of paying for them again. The journal is deleted once the output is committed.
+// Each record carries the glossary version it was translated with, so an edited glossary is not bypassed on restart.
+public class TranslationJournal implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TranslationJournal.class);
+
+    private final Path journalPath;
+    private final boolean enabled;
+    private final int syncEntries;
+    private final Map<String, Record> replayable = new HashMap<>();
+    private FileChannel channel;
+    private BufferedWriter writer;
+    private int unsyncedEntries;
+    private long appendedEntries;
+
+    public TranslationJournal(Path journalPath, boolean enabled, int syncEntries) {
+        this.journalPath = journalPath;
+        this.enabled = enabled;
+        this.syncEntries = Math.max(1, syncEntries);
+    }
+
+    public static TranslationJournal open(ConfigManager configManager, String targetLanguage) throws IOException {
+        TranslationJournal journal = new TranslationJournal(
+                Paths.get(configManager.getJournalFilePath(targetLanguage)),
+                configManager.isJournalEnabled(),
+                configManager.getJournalSyncEntries());
+        journal.load();
+        return journal;
+    }
+
+    // The journaled translation of the entry, provided the source text and glossary are still the ones it was translated with.
+    public synchronized PropertyEntry replay(PropertyEntry source, String glossaryVersion) {
+        if (replayable.isEmpty()) {
+            return null;
+        }
+        Record record = replayable.get(source.key);
+        if (record == null || !record.digest().equals(BundleIndex.digestOf(source)) || !record.glossaryVersion().equals(glossaryVersion)) {
+            return null;
+        }
+        return record.translated();
+    }
+
+    public synchronized void append(List<PropertyEntry> sources, List<PropertyEntry> translations, String glossaryVersion) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (writer == null) {
+            Files.createDirectories(journalPath.toAbsolutePath().getParent());
+            channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+        }
+        for (int i = 0; i < sources.size(); i++) {
+            PropertyEntry source = sources.get(i);
+            PropertyEntry translated = translations.get(i);
+            // Entries that kept their source text were not translated and must be retried on restart.
+            if (translated == source || source.type != PropertyEntry.EntryType.PROPERTY) {
+                continue;
+            }
+            writer.write(BundleIndex.digestOf(source));
+            writer.write('\t');
+            writer.write(encode(glossaryVersion));
+            writer.write('\t');
+            writer.write(encode(source.key));
+            writer.write('\t');
+            writer.write(encode(String.join("\n", translated.lines)));
+            writer.newLine();
+            unsyncedEntries++;
+            appendedEntries++;
+        }
+        if (unsyncedEntries >= syncEntries) {
+            sync();
+        }
+    }
+
+    public synchronized void sync() throws IOException {
+        if (writer == null || unsyncedEntries == 0) {
+            return;
+        }
+        writer.flush();
+        channel.force(false);
+        unsyncedEntries = 0;
+    }
+
+    // Called after the output file has been renamed into place.
+    public synchronized void delete() throws IOException {
+        closeWriter();
+        replayable.clear();
+        if (Files.deleteIfExists(journalPath)) {
+            logger.debug("Deleted translation journal {}", journalPath);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null && appendedEntries > 0) {
+            logger.info("Translation journal {} keeps {} entries for the next run", journalPath, appendedEntries);
+        }
+        closeWriter();
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        try {
+            sync();
+        } finally {
+            writer.close();
+            writer = null;
+            channel = null;
+        }
+    }
+
+    private void load() throws IOException {
+        if (!enabled || !Files.exists(journalPath)) {
+            return;
+        }
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length != 4) {
+                    // A torn last record from a killed process.
+                    skipped++;
+                    continue;
+                }
+                try {
+                    String key = decode(fields[2]);
+                    List<String> lines = List.of(decode(fields[3]).split("\n"));
+                    replayable.put(key, new Record(fields[0], decode(fields[1]), new PropertyEntry(key, lines, PropertyEntry.EntryType.PROPERTY)));
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                }
+            }
+        }
+        logger.info("Replaying translation journal {} with {} entries ({} unreadable records skipped)", journalPath, replayable.size(), skipped);
+    }
+
+    private static String encode(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+
+    private record Record(String digest, String glossaryVersion, PropertyEntry translated) {
+    }
+}
\ No newline at end of file
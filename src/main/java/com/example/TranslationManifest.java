@@ -0,0 +1,113 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TranslationManifest {
+    private static final Logger logger = LoggerFactory.getLogger(TranslationManifest.class);
+    private final Path manifestPath;
+
+    public TranslationManifest(Path manifestPath) {
+        this.manifestPath = manifestPath;
+    }
+
+    public static TranslationManifest forLanguage(ConfigManager configManager, String targetLanguage) {
+        return new TranslationManifest(Paths.get(configManager.getManifestFilePath(targetLanguage)));
+    }
+
+    public boolean exists() {
+        return Files.exists(manifestPath);
+    }
+
+    public BundleIndex load() throws IOException {
+        Map<String, String> digests = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(manifestPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    digests.put(line.substring(tab + 1), line.substring(0, tab));
+                }
+            }
+        }
+        logger.info("Loaded manifest {} with {} keys", manifestPath, digests.size());
+        return BundleIndex.fromDigests(digests);
+    }
+
+    public Update beginUpdate(BundleIndex current, BundleIndex baseline) {
+        return new Update(current, baseline);
+    }
+
+    private void write(Map<String, String> digests) throws IOException {
+        Path targetPath = manifestPath.toAbsolutePath();
+        Files.createDirectories(targetPath.getParent());
+        Path tempPath = FileIO.createTempFileFor(targetPath);
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : digests.entrySet()) {
+                    writer.write(entry.getValue());
+                    writer.write('\t');
+                    writer.write(entry.getKey());
+                    writer.newLine();
+                }
+            }
+            FileIO.moveAtomically(tempPath, targetPath);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    public class Update {
+        private final BundleIndex current;
+        private final BundleIndex baseline;
+        private final Map<String, String> digests = new LinkedHashMap<>();
+        private int untranslated;
+
+        private Update(BundleIndex current, BundleIndex baseline) {
+            this.current = current;
+            this.baseline = baseline;
+        }
+
+        public void record(PropertyEntry source, PropertyEntry translated) {
+            if (source.type != PropertyEntry.EntryType.PROPERTY) {
+                return;
+            }
+            // Entries that kept their source text come back as the source instance itself; they keep
+            // their previous digest (or none) so the next delta run retries them.
+            if (translated != source) {
+                digests.put(source.key, current.getDigest(source.key));
+            } else {
+                untranslated++;
+                String previousDigest = baseline != null ? baseline.getDigest(source.key) : null;
+                if (previousDigest != null) {
+                    digests.put(source.key, previousDigest);
+                }
+            }
+        }
+
+        // Entries that fell back to an earlier text are left without a digest, so the next delta run translates them again.
+        public void forget(Collection<String> keys) {
+            for (String key : keys) {
+                if (digests.remove(key) != null) {
+                    untranslated++;
+                }
+            }
+        }
+
+        public void commit() throws IOException {
+            write(digests);
+            logger.info("Updated manifest {} with {} keys ({} untranslated keys left for the next run)", manifestPath, digests.size(), untranslated);
+        }
+    }
+}
\ No newline at end of file
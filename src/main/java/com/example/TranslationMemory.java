@@ -0,0 +1,234 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+public class TranslationMemory implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TranslationMemory.class);
+    public static final String NO_GLOSSARY = "none";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Path storePath;
+    private final int maxEntries;
+    private final boolean enabled;
+    private final boolean cacheOnly;
+    private final LinkedHashMap<String, String> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long evictions;
+    private long storedRecords;
+    private BufferedWriter appender;
+    private boolean loaded;
+
+    public TranslationMemory(Path storePath, int maxEntries, boolean enabled, boolean cacheOnly) {
+        this.storePath = storePath;
+        this.maxEntries = maxEntries;
+        this.enabled = enabled;
+        this.cacheOnly = cacheOnly;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                if (size() > TranslationMemory.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static TranslationMemory open(ConfigManager configManager) throws IOException {
+        TranslationMemory memory = new TranslationMemory(
+                Paths.get(configManager.getTranslationMemoryPath()),
+                configManager.getTranslationMemoryMaxEntries(),
+                configManager.isTranslationMemoryEnabled(),
+                configManager.isTranslationMemoryCacheOnly());
+        // The store is read on first use, so runs that find nothing to translate never pay for loading it.
+        return memory;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isCacheOnly() {
+        return enabled && cacheOnly;
+    }
+
+    public static String normalize(String sourceText) {
+        return WHITESPACE.matcher(sourceText.trim()).replaceAll(" ");
+    }
+
+    public static String keyOf(String sourceText, String targetLanguage, String glossaryVersion) {
+        return ContentHash.sha256(normalize(sourceText) + '\u0000' + targetLanguage.toLowerCase() + '\u0000' + glossaryVersion);
+    }
+
+    public synchronized String get(String sourceText, String targetLanguage, String glossaryVersion) {
+        if (!enabled) {
+            return null;
+        }
+        loadOnFirstUse();
+        String key = keyOf(sourceText, targetLanguage, glossaryVersion);
+        String encoded = entries.get(key);
+        String translation = null;
+        if (encoded != null) {
+            try {
+                translation = decode(encoded);
+            } catch (IllegalArgumentException e) {
+                logger.debug("Dropping corrupt translation memory record in {}", storePath);
+                entries.remove(key);
+            }
+        }
+        if (translation == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return translation;
+    }
+
+    public synchronized void put(String sourceText, String targetLanguage, String glossaryVersion, String translation) {
+        if (!enabled || cacheOnly) {
+            return;
+        }
+        loadOnFirstUse();
+        String key = keyOf(sourceText, targetLanguage, glossaryVersion);
+        String encoded = encode(translation);
+        if (encoded.equals(entries.put(key, encoded))) {
+            return;
+        }
+        try {
+            if (appender == null) {
+                Files.createDirectories(storePath.toAbsolutePath().getParent());
+                appender = Files.newBufferedWriter(storePath, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            appender.write(key + '\t' + encoded);
+            appender.newLine();
+            storedRecords++;
+        } catch (IOException e) {
+            logger.warn("Failed to append to translation memory {}: {}", storePath, e.getMessage());
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    // Entries read so far; the store is only loaded once a lookup or store needs it, or load() is called.
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void load() throws IOException {
+        if (loaded) {
+            return;
+        }
+        if (!enabled || !Files.exists(storePath)) {
+            logger.info("Translation memory {} (enabled: {}, cache only: {})",
+                    enabled ? "starting empty at " + storePath : "disabled", enabled, cacheOnly);
+            loaded = true;
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(storePath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab <= 0) {
+                    continue;
+                }
+                // Values stay Base64-encoded until a lookup hits them, which keeps loading to a split per line.
+                entries.put(line.substring(0, tab), line.substring(tab + 1));
+                storedRecords++;
+            }
+        }
+        loaded = true;
+        logger.info("Loaded {} translation memory entries from {} in {} ms (cache only: {})",
+                entries.size(), storePath, (System.nanoTime() - start) / 1_000_000, cacheOnly);
+    }
+
+    private void loadOnFirstUse() {
+        try {
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Makes the appended entries durable without closing the store, for long-running processes. Once the file holds
+    // another max.entries records that are superseded or evicted, it is compacted here as well, so a daemon that never
+    // closes the store keeps it bounded at about twice the entry limit.
+    public synchronized void flush() throws IOException {
+        if (appender == null) {
+            return;
+        }
+        appender.flush();
+        if (storedRecords - entries.size() >= Math.max(1, maxEntries)) {
+            compact();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!enabled || !loaded) {
+            return;
+        }
+        closeAppender();
+        if (storedRecords > entries.size() * 2L || evictions > 0) {
+            compact();
+        }
+        logger.info("Translation memory statistics - hits: {}, misses: {}, entries: {}, evictions: {}",
+                hits.get(), misses.get(), entries.size(), evictions);
+    }
+
+    private void closeAppender() throws IOException {
+        if (appender != null) {
+            appender.close();
+            appender = null;
+        }
+    }
+
+    // The appender is closed first: it would otherwise keep writing to the file replaced here. The next put reopens it.
+    private void compact() throws IOException {
+        closeAppender();
+        Path tempPath = FileIO.createTempFileFor(storePath);
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                writer.write(entry.getKey() + '\t' + entry.getValue());
+                writer.newLine();
+            }
+        }
+        FileIO.moveAtomically(tempPath, storePath);
+        logger.info("Compacted translation memory {} from {} records to {} entries", storePath, storedRecords, entries.size());
+        storedRecords = entries.size();
+    }
+
+    private static String encode(String translation) {
+        return Base64.getEncoder().encodeToString(translation.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String encoded) {
+        return new String(Base64.getDecoder().decode(encoded), StandardCharsets.UTF_8);
+    }
+}
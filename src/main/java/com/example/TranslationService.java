@@ -1,328 +1,849 @@
 package com.example;
 
-import com.google.api.gax.longrunning.OperationFuture;
 import com.google.api.gax.rpc.ApiException;
-import com.google.api.gax.rpc.StatusCode;
-import com.google.cloud.translate.v3.CreateGlossaryMetadata;
-import com.google.cloud.translate.v3.CreateGlossaryRequest;
-import com.google.cloud.translate.v3.GcsSource;
-import com.google.cloud.translate.v3.Glossary;
-import com.google.cloud.translate.v3.GlossaryInputConfig;
-import com.google.cloud.translate.v3.LocationName;
-import com.google.cloud.translate.v3.TranslateTextGlossaryConfig;
-import com.google.cloud.translate.v3.TranslateTextRequest;
-import com.google.cloud.translate.v3.TranslateTextResponse;
-import com.google.cloud.translate.v3.TranslationServiceClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
-public class TranslationService {
+public class TranslationService implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(TranslationService.class);
+    private static final Pattern LINE_CONTINUATION = Pattern.compile("\\s*\\\\\n\\s*");
+    // Calls whose latency a language keeps for its end-of-run p99; a larger run reports over its most recent calls.
+    private static final int LATENCY_SAMPLES = 16384;
     private final ConfigManager configManager;
+    private final TranslationBackend translationBackend;
+    private final GlossaryBackend glossaryBackend;
+    private final TranslationMemory translationMemory;
+    private final GlossaryRegistry glossaryRegistry;
+    private final Metrics metrics;
+    private final ApiCallGuard apiCallGuard;
+    private final Set<String> pendingGlossaryCreations = ConcurrentHashMap.newKeySet();
+    private final Map<String, LocalGlossary> localGlossaries = new ConcurrentHashMap<>();
+    private final SentenceSegmenter segmenter;
+    private final SourceTexts sourceTexts;
+    private final Map<String, FuzzyIndexEntry> fuzzyIndexes = new ConcurrentHashMap<>();
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+    // Stores and journals API answers, which append to disk, so that work stays off the transport threads that deliver them.
+    private final ThreadPoolExecutor completionExecutor;
+    private ExecutorService glossaryCreationExecutor;
 
-    public TranslationService(ConfigManager configManager) {
+    public TranslationService(ConfigManager configManager, TranslationBackend translationBackend, GlossaryBackend glossaryBackend,
+                              TranslationMemory translationMemory, GlossaryRegistry glossaryRegistry, Metrics metrics) {
         this.configManager = configManager;
+        this.translationBackend = translationBackend;
+        this.glossaryBackend = glossaryBackend;
+        this.translationMemory = translationMemory;
+        this.glossaryRegistry = glossaryRegistry;
+        this.metrics = metrics;
+        this.apiCallGuard = new ApiCallGuard(configManager);
+        this.segmenter = configManager.isSegmentationEnabled() ? new SentenceSegmenter(configManager.getSegmentationAbbreviations()) : null;
+        this.sourceTexts = new SourceTexts(segmenter);
+        AtomicInteger completionThreads = new AtomicInteger();
+        int completionPoolSize = Math.max(1, configManager.getLanguageParallelism());
+        this.completionExecutor = new ThreadPoolExecutor(completionPoolSize, completionPoolSize, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "translate-complete-" + completionThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        completionExecutor.allowCoreThreadTimeOut(true);
+        metrics.gauge("translation_inflight_requests", apiCallGuard::getInFlight);
+        metrics.gauge("translation_concurrency_limit", apiCallGuard::getConcurrencyLimit);
+        metrics.gauge("translation_scheduler_queued_requests", apiCallGuard::getQueued);
+        metrics.gauge("translation_memory_entries", translationMemory::size);
+        metrics.gauge("process_time_to_first_request_millis", firstRequestMillis::get);
     }
 
-public List<PropertyEntry> translateProperties(List<PropertyEntry> entries, String targetLanguage, String previousVersionFile) throws IOException {
-    logger.info("Starting translation process for target language: {}", targetLanguage);
-    String credentialsPath = System.getenv("GOOGLE_APPLICATION_CREDENTIALS");
-    if (credentialsPath == null || credentialsPath.isEmpty()) {
-        logger.error("GOOGLE_APPLICATION_CREDENTIALS environment variable is not set");
-        throw new IOException("Environment variable GOOGLE_APPLICATION_CREDENTIALS is not set");
+public List<PropertyEntry> translateProperties(List<PropertyEntry> entries, String targetLanguage, BundleDelta delta) throws IOException {
+    List<PropertyEntry> translatedEntries = new ArrayList<>(entries.size());
+    translateProperties(entries.iterator(), targetLanguage, delta, (source, translated) -> translatedEntries.add(translated));
+    return translatedEntries;
+}
+
+    public void translateProperties(Iterator<PropertyEntry> entries, String targetLanguage, BundleDelta delta, TranslationSink sink) throws IOException {
+        translateProperties(entries, targetLanguage, delta, null, sink);
     }
 
-    List<PropertyEntry> translatedEntries = new ArrayList<>();
-    Map<String, PropertyEntry> existingTranslationsMap = new HashMap<>();
+    // The journal, when given, is replayed before the translation memory and receives every batch the API translates.
+    // Returns the keys that could not be translated and kept their previous translation or their source text.
+    public Set<String> translateProperties(Iterator<PropertyEntry> entries, String targetLanguage, BundleDelta delta, TranslationJournal journal, TranslationSink sink) throws IOException {
+        return translateProperties(entries, targetLanguage, delta, journal, false, sink);
+    }
+
+    // Without a delta every entry is a refresh, unless the caller is waiting on the result.
+    private Set<String> translateProperties(Iterator<PropertyEntry> entries, String targetLanguage, BundleDelta delta, TranslationJournal journal,
+                                     boolean interactive, TranslationSink sink) throws IOException {
+        logger.info("Starting translation process for target language: {}", targetLanguage);
+        Map<String, PropertyEntry> existingTranslationsMap = loadExistingTranslations(targetLanguage, delta);
+        LanguageRun run = new LanguageRun(targetLanguage, getGlossaryVersion(targetLanguage), delta, journal, interactive);
+        int windowSize = configManager.getStreamWindowEntries();
+
+        try {
+            List<PropertyEntry> window = new ArrayList<>();
+            while (entries.hasNext()) {
+                window.add(entries.next());
+                if (window.size() >= windowSize) {
+                    translateWindow(window, run, delta, existingTranslationsMap, sink);
+                    window.clear();
+                }
+            }
+            if (!window.isEmpty()) {
+                translateWindow(window, run, delta, existingTranslationsMap, sink);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (ApiException e) {
+            logger.error("Translation API call for language {} failed: {}", targetLanguage, e.getMessage(), e);
+            throw new IOException("Translation API call for language " + targetLanguage + " failed: " + e.getMessage(), e);
+        }
 
-    try (TranslationServiceClient client = TranslationServiceClient.create()) {
-        LocationName parent = LocationName.of(configManager.getProjectId(), configManager.getLocation());
-        String glossaryId = "glossary-" + targetLanguage.toLowerCase();
-        String glossaryName = LocationName.of(configManager.getProjectId(), configManager.getLocation()).toString() + "/glossaries/" + glossaryId;
+        if (translationMemory.isEnabled()) {
+            logger.info("Translation memory for {}: {} hits, {} sentence hits, {} entries needed translation",
+                    targetLanguage, run.memoryHits, run.segmentMemoryHits, run.pendingEntries);
+        }
+        if (run.fuzzyHits > 0 || run.fuzzyNearMisses > 0) {
+            logger.info("Fuzzy matching for {}: {} sentences adapted from similar past translations, {} similar sentences sent to the API",
+                    targetLanguage, run.fuzzyHits, run.fuzzyNearMisses);
+        }
+        if (run.duplicateSegments > 0) {
+            logger.info("Deduplication for {}: {} sentences translated from {} unique texts (ratio {}), saving {} characters",
+                    targetLanguage, run.uniqueSegments + run.duplicateSegments, run.uniqueSegments,
+                    String.format("%.2f", (run.uniqueSegments + run.duplicateSegments) / (double) Math.max(1, run.uniqueSegments)),
+                    run.duplicateCharacters);
+        }
+        if (run.hedgesSent.get() > 0 || run.hedgesDenied.get() > 0) {
+            logger.info("Hedging for {}: {} of {} requests hedged ({}%), {} answered first by the hedge, {} not hedged for lack of budget; "
+                            + "p99 latency {} ms instead of {} ms",
+                    targetLanguage, run.hedgesSent.get(), run.hedgedLatencies.size(),
+                    String.format("%.1f", 100.0 * run.hedgesSent.get() / Math.max(1, run.hedgedLatencies.size())),
+                    run.hedgesWon.get(), run.hedgesDenied.get(),
+                    run.hedgedLatencies.percentileNanos(99) / 1_000_000, run.unhedgedLatencies.percentileNanos(99) / 1_000_000);
+        }
+        if (run.cacheOnlyMisses > 0) {
+            logger.warn("Cache-only mode: {} entries for language {} have no translation memory entry and keep their source text",
+                    run.cacheOnlyMisses, targetLanguage);
+        }
+        if (!run.fallbackKeys.isEmpty()) {
+            logger.warn("{} of {} entries for language {} could not be translated and keep their previous translation or source text",
+                    run.fallbackKeys.size(), run.pendingEntries, targetLanguage);
+        }
+        return run.fallbackKeys;
+    }
 
-        boolean glossaryExists = createGlossaryIfNotExists(client, parent, glossaryName, targetLanguage);
-        logger.info("Glossary status for {}: exists={}", targetLanguage, glossaryExists);
+    // Single strings, each translated like a property value, so they share the memory, glossary and quota limiter of bundle runs.
+    public List<String> translateTexts(List<String> texts, String targetLanguage) throws IOException {
+        List<PropertyEntry> entries = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            entries.add(new PropertyEntry("text." + i, List.of("text." + i + "=" + texts.get(i)), PropertyEntry.EntryType.PROPERTY));
+        }
+        List<String> translations = new ArrayList<>(texts.size());
+        translateProperties(entries.iterator(), targetLanguage, null, null, true,
+                (source, translated) -> translations.add(extractContent(String.join("\n", translated.lines))));
+        return translations;
+    }
 
-        List<PropertyEntry> modifiedEntries = entries;
+    private Map<String, PropertyEntry> loadExistingTranslations(String targetLanguage, BundleDelta delta) {
+        Map<String, PropertyEntry> existingTranslationsMap = new HashMap<>();
+        if (delta == null) {
+            return existingTranslationsMap;
+        }
 
-        if (previousVersionFile != null) {
-            String currentFile = configManager.getInputFilePath();
-            modifiedEntries = getModifiedEntries(previousVersionFile, currentFile);
-            logger.info("Processing {} modified/new entries for incremental translation", modifiedEntries.size());
+        logger.info("Processing {} modified/new entries for incremental translation",
+                delta.count(BundleDelta.ChangeType.ADDED) + delta.count(BundleDelta.ChangeType.CHANGED));
 
-            String existingTranslationsFile = configManager.getOutputFilePath(targetLanguage);
-            try {
-                List<PropertyEntry> existingTranslations = FileIO.readPropertiesFile(existingTranslationsFile);
-                logger.info("Loaded {} existing translations from {}", existingTranslations.size(), existingTranslationsFile);
+        String existingTranslationsFile = configManager.getOutputFilePath(targetLanguage);
+        try {
+            List<PropertyEntry> existingTranslations = FileIO.readPropertiesFile(existingTranslationsFile);
+            logger.info("Loaded {} existing translations from {}", existingTranslations.size(), existingTranslationsFile);
 
-                for (PropertyEntry entry : existingTranslations) {
-                    if (entry.type == PropertyEntry.EntryType.PROPERTY) {
-                        existingTranslationsMap.put(entry.key, entry);
-                    }
+            int prunedEntries = 0;
+            for (PropertyEntry entry : existingTranslations) {
+                if (entry.type != PropertyEntry.EntryType.PROPERTY) {
+                    continue;
+                }
+                if (delta.classify(entry.key) == BundleDelta.ChangeType.REMOVED) {
+                    logger.debug("Pruning removed entry from {} bundle: {}", targetLanguage, entry.key);
+                    prunedEntries++;
+                } else {
+                    existingTranslationsMap.put(entry.key, entry);
                 }
-            } catch (IOException e) {
-                logger.warn("No existing translations found at: {}. Creating new file.", existingTranslationsFile);
             }
+            logger.info("Pruned {} removed entries from {} bundle", prunedEntries, targetLanguage);
+        } catch (IOException e) {
+            logger.warn("No existing translations found at: {}. Creating new file.", existingTranslationsFile);
         }
+        return existingTranslationsMap;
+    }
 
-        for (PropertyEntry entry : entries) {
+    private void translateWindow(List<PropertyEntry> window, LanguageRun run, BundleDelta delta, Map<String, PropertyEntry> existingTranslationsMap, TranslationSink sink) throws IOException {
+        List<PropertyEntry> translatedEntries = new ArrayList<>(window.size());
+        List<PendingEntry> pendingEntries = new ArrayList<>();
+        // Sentences with no translation yet are sent once, however many keys of the window contain them.
+        Map<String, SourceTexts.Segment> pendingSegments = new LinkedHashMap<>();
+        Map<String, List<PendingEntry>> waitingBySegment = new HashMap<>();
+        // Sentences of new or changed keys, scheduled ahead of refreshes.
+        Set<String> editedSegments = new HashSet<>();
+
+        for (PropertyEntry entry : window) {
             if (entry.type == PropertyEntry.EntryType.COMMENT || entry.type == PropertyEntry.EntryType.EMPTY_LINE) {
                 translatedEntries.add(entry);
                 continue;
             }
 
-            try {
-                boolean isModified = modifiedEntries.stream()
-                    .anyMatch(e -> e.key.equals(entry.key));
-
-                if (previousVersionFile != null) {
-                    if (isModified || !existingTranslationsMap.containsKey(entry.key)) {
-                        String fullValue = String.join("\n", entry.lines);
-                        logger.info("Translating modified/new entry: {}", entry.key);
-                        String translatedValue = glossaryExists ?
-                            translateValueWithGlossary(client, parent, fullValue, targetLanguage, glossaryName) :
-                            translateValueWithoutGlossary(client, parent, fullValue, targetLanguage);
-                        translatedEntries.add(new PropertyEntry(entry.key, List.of(translatedValue.split("\n")), PropertyEntry.EntryType.PROPERTY));
+            if (delta != null && !delta.needsTranslation(entry.key) && existingTranslationsMap.containsKey(entry.key)) {
+                translatedEntries.add(existingTranslationsMap.get(entry.key));
+                run.reusedEntries.increment();
+                continue;
+            }
+
+            PropertyEntry journaled = run.journal != null ? run.journal.replay(entry, run.glossaryVersion) : null;
+            if (journaled != null) {
+                translatedEntries.add(journaled);
+                run.journalEntries.increment();
+                continue;
+            }
+
+            String fullValue = String.join("\n", entry.lines);
+            SourceTexts.SourceText source = sourceTexts.of(fullValue);
+            List<SourceTexts.Segment> segments = source.segments();
+            // Memories written before segmentation hold multi-sentence values whole.
+            String cachedTranslation = segments.size() > 1
+                    ? translationMemory.get(source.normalized(), run.targetLanguage, run.glossaryVersion) : null;
+            if (cachedTranslation != null) {
+                logger.debug("Translation memory hit for entry: {}", entry.key);
+                translatedEntries.add(toTranslatedEntry(entry, fullValue, cachedTranslation));
+                run.memoryHits++;
+                run.memoryEntries.increment();
+                continue;
+            }
+
+            String[] translations = new String[segments.size()];
+            boolean deduplicated = false;
+            boolean adapted = false;
+            int missing = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                SourceTexts.Segment segment = segments.get(i);
+                translations[i] = run.translationsByText.get(segment.normalized());
+                if (translations[i] != null) {
+                    run.recordDuplicate(segment);
+                    deduplicated = true;
+                    continue;
+                }
+                translations[i] = translationMemory.get(segment.normalized(), run.targetLanguage, run.glossaryVersion);
+                if (translations[i] != null) {
+                    run.segmentMemoryHits++;
+                    run.memorySegments.increment();
+                    continue;
+                }
+                translations[i] = run.fuzzyTranslation(segment);
+                if (translations[i] != null) {
+                    adapted = true;
+                } else {
+                    missing++;
+                }
+            }
+            if (missing == 0) {
+                logger.debug("Translation memory hit for entry: {}", entry.key);
+                translatedEntries.add(toTranslatedEntry(entry, fullValue, SentenceSegmenter.join(Arrays.asList(translations))));
+                if (adapted) {
+                    run.fuzzyEntries.increment();
+                } else if (deduplicated) {
+                    run.dedupEntries.increment();
+                } else {
+                    run.memoryHits++;
+                    run.memoryEntries.increment();
+                }
+                continue;
+            }
+
+            logger.debug(delta != null ? "Translating modified/new entry: {}" : "Translating entry: {}", entry.key);
+            PendingEntry pending = new PendingEntry(entry, fullValue, translatedEntries.size(), segments, translations);
+            boolean edited = delta != null ? delta.isEdited(entry.key) : run.interactive;
+            int waitingFor = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                if (translations[i] != null) {
+                    continue;
+                }
+                SourceTexts.Segment segment = segments.get(i);
+                pending.sent[i] = pendingSegments.putIfAbsent(segment.normalized(), segment) == null;
+                if (edited) {
+                    editedSegments.add(segment.normalized());
+                }
+                List<PendingEntry> waiting = waitingBySegment.computeIfAbsent(segment.normalized(), text -> new ArrayList<>());
+                if (waiting.isEmpty() || waiting.get(waiting.size() - 1) != pending) {
+                    waiting.add(pending);
+                    waitingFor++;
+                }
+            }
+            pending.remaining.set(waitingFor);
+            pendingEntries.add(pending);
+            translatedEntries.add(entry);
+        }
+
+        run.pendingEntries += pendingEntries.size();
+        if (!pendingEntries.isEmpty() && translationMemory.isCacheOnly()) {
+            run.cacheOnlyMisses += pendingEntries.size();
+            run.cacheOnlyMissEntries.add(pendingEntries.size());
+        } else if (!pendingEntries.isEmpty()) {
+            run.resolveGlossary();
+            run.uniqueSegments += pendingSegments.size();
+            translateSegmentsInBatches(new ArrayList<>(pendingSegments.values()), editedSegments, run,
+                    run.glossaryName != null || run.localGlossary != null ? run.glossaryVersion : TranslationMemory.NO_GLOSSARY,
+                    waitingBySegment);
+            for (PendingEntry pending : pendingEntries) {
+                if (pending.translated == null) {
+                    // A refreshed key's source is unchanged, so its current translation is still better than the source text.
+                    PropertyEntry existing = delta != null && !delta.isEdited(pending.entry.key)
+                            ? existingTranslationsMap.get(pending.entry.key) : null;
+                    if (existing != null) {
+                        translatedEntries.set(pending.position, existing);
+                    }
+                    run.fallbackKeys.add(pending.entry.key);
+                    run.fallbackCounter.increment();
+                    continue;
+                }
+                translatedEntries.set(pending.position, pending.translated);
+                boolean sent = false;
+                for (int i = 0; i < pending.segments.size(); i++) {
+                    if (pending.sent[i]) {
+                        sent = true;
+                    } else if (pending.translations[i] == null) {
+                        run.recordDuplicate(pending.segments.get(i));
+                    }
+                }
+                (sent ? run.translatedEntries : run.dedupEntries).increment();
+            }
+        }
+
+        for (int i = 0; i < window.size(); i++) {
+            sink.accept(window.get(i), translatedEntries.get(i));
+        }
+    }
+
+    // Runs as sentences arrive: every pending entry whose last missing sentence was among them is reassembled and
+    // journaled. An entry with a sentence that could not be translated is never completed and keeps its source text.
+    private void completeEntries(List<SourceTexts.Segment> translatedSegments, Map<String, List<PendingEntry>> waitingBySegment, LanguageRun run) {
+        List<PropertyEntry> sources = new ArrayList<>();
+        List<PropertyEntry> results = new ArrayList<>();
+        for (SourceTexts.Segment segment : translatedSegments) {
+            for (PendingEntry pending : waitingBySegment.getOrDefault(segment.normalized(), List.of())) {
+                if (pending.remaining.decrementAndGet() > 0) {
+                    continue;
+                }
+                List<String> translations = new ArrayList<>(pending.segments.size());
+                for (int i = 0; i < pending.segments.size(); i++) {
+                    String translation = pending.translations[i];
+                    translations.add(translation != null ? translation : run.translationsByText.get(pending.segments.get(i).normalized()));
+                }
+                pending.translated = toTranslatedEntry(pending.entry, pending.fullValue, SentenceSegmenter.join(translations));
+                sources.add(pending.entry);
+                results.add(pending.translated);
+            }
+        }
+        run.journal(sources, results);
+    }
+
+    // Past translations of the language whose source is unchanged since they were made, paired from the current
+    // source bundle, the output bundle and its manifest. Keys the delta retranslates anyway are left out, as their
+    // output is what is being replaced. Rebuilt only when one of those files or the glossary changes.
+    private FuzzyMatchIndex fuzzyIndex(String targetLanguage, String glossaryVersion, BundleDelta delta) {
+        Path inputPath = Paths.get(configManager.getInputFilePath());
+        Path outputPath = Paths.get(configManager.getOutputFilePath(targetLanguage));
+        Path manifestPath = Paths.get(configManager.getManifestFilePath(targetLanguage));
+        if (!Files.exists(inputPath) || !Files.exists(outputPath) || !Files.exists(manifestPath)) {
+            return null;
+        }
+        try {
+            if (!isOutputGlossary(targetLanguage, glossaryVersion)) {
+                logger.info("Not adapting past translations for {}: its bundle was translated with another glossary than this run applies", targetLanguage);
+                return null;
+            }
+            String stamp = stamp(inputPath) + '/' + stamp(outputPath) + '/' + stamp(manifestPath) + '/' + glossaryVersion;
+            // An index that leaves out refreshed keys belongs to this delta alone.
+            boolean cacheable = delta == null || !delta.hasRefreshedKeys();
+            FuzzyIndexEntry cached = cacheable ? fuzzyIndexes.get(targetLanguage) : null;
+            if (cached != null && cached.stamp().equals(stamp)) {
+                return cached.index();
+            }
+
+            long start = System.nanoTime();
+            BundleIndex translatedDigests = new TranslationManifest(manifestPath).load();
+            Map<String, PropertyEntry> translatedEntries = new HashMap<>();
+            for (PropertyEntry entry : FileIO.readPropertiesFile(outputPath.toString())) {
+                // Continuation lines of a translation are wrapped mid-word, so only single-line values can be read back.
+                if (entry.type == PropertyEntry.EntryType.PROPERTY && entry.lines.size() == 1) {
+                    translatedEntries.put(entry.key, entry);
+                }
+            }
+            List<String> sources = new ArrayList<>();
+            List<String> translations = new ArrayList<>();
+            try (Stream<PropertyEntry> sourceEntries = FileIO.streamPropertiesFile(inputPath.toString())) {
+                for (Iterator<PropertyEntry> iterator = sourceEntries.iterator(); iterator.hasNext(); ) {
+                    PropertyEntry source = iterator.next();
+                    PropertyEntry translated = source.type == PropertyEntry.EntryType.PROPERTY ? translatedEntries.get(source.key) : null;
+                    if (translated == null || !BundleIndex.digestOf(source).equals(translatedDigests.getDigest(source.key))
+                            || delta != null && delta.needsTranslation(source.key)) {
+                        continue;
+                    }
+                    SourceTexts.SourceText text = sourceTexts.of(String.join("\n", source.lines));
+                    String translation = TranslationMemory.normalize(cleanContent(extractContent(translated.lines.get(0))));
+                    List<String> sentences = segmenter != null ? segmenter.split(translation) : List.of(translation);
+                    if (sentences.size() == text.segments().size()) {
+                        for (int i = 0; i < sentences.size(); i++) {
+                            sources.add(text.segments().get(i).normalized());
+                            translations.add(sentences.get(i));
+                        }
                     } else {
-                        translatedEntries.add(existingTranslationsMap.get(entry.key));
+                        sources.add(text.normalized());
+                        translations.add(translation);
                     }
-                } else {
-                    String fullValue = String.join("\n", entry.lines);
-                    logger.info("Translating entry: {}", entry.key);
-                    String translatedValue = glossaryExists ?
-                        translateValueWithGlossary(client, parent, fullValue, targetLanguage, glossaryName) :
-                        translateValueWithoutGlossary(client, parent, fullValue, targetLanguage);
-                    translatedEntries.add(new PropertyEntry(entry.key, List.of(translatedValue.split("\n")), PropertyEntry.EntryType.PROPERTY));
                 }
-            } catch (Exception e) {
-                logger.error("Failed to translate property: {} for language {}. Error: {}", entry.key, targetLanguage, e.getMessage(), e);
-                translatedEntries.add(entry);
             }
+            FuzzyMatchIndex index = new FuzzyMatchIndex(sources, translations, configManager.getFuzzyMatchThreshold());
+            logger.info("Built fuzzy match index for {} with {} past translations in {} ms",
+                    targetLanguage, index.size(), (System.nanoTime() - start) / 1_000_000);
+            if (cacheable) {
+                fuzzyIndexes.put(targetLanguage, new FuzzyIndexEntry(stamp, index));
+            }
+            return index;
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Unable to build fuzzy match index for {}: {}", targetLanguage, e.getMessage());
+            return null;
         }
-    } catch (ApiException e) {
-        logger.error("Error creating TranslationServiceClient: {}", e.getMessage(), e);
-        throw new IOException("Error creating TranslationServiceClient: " + e.getMessage(), e);
     }
 
-    return translatedEntries;
-}
+    // The output carries the glossary terms of the glossary it was last produced with, which its snapshot records.
+    // Without a glossary file there is no snapshot either; a remote glossary of unknown origin cannot be compared.
+    private boolean isOutputGlossary(String targetLanguage, String glossaryVersion) throws IOException {
+        Path snapshot = Paths.get(configManager.getGlossarySnapshotPath(targetLanguage));
+        if (!Files.exists(snapshot)) {
+            return !Files.exists(Paths.get(configManager.getLocalGlossaryPath(targetLanguage)));
+        }
+        return ContentHash.sha256(snapshot).equals(glossaryVersion);
+    }
 
-    private List<PropertyEntry> getModifiedEntries(String originalFile, String newFile) throws IOException {
-        List<PropertyEntry> originalEntries = FileIO.readPropertiesFile(originalFile);
-        List<PropertyEntry> newEntries = FileIO.readPropertiesFile(newFile);
-        List<PropertyEntry> modifiedEntries = new ArrayList<>();
+    private static String stamp(Path path) throws IOException {
+        return Files.getLastModifiedTime(path).toMillis() + ":" + Files.size(path);
+    }
+
+    // The glossary version translations are cached under. A local glossary applies the CSV as it is on disk; a remote
+    // glossary applies the CSV it was created from, which the registry records, as an edited file only reaches it
+    // through updateGlossary.
+    private String getGlossaryVersion(String targetLanguage) {
+        String csvHash = localGlossaryHash(targetLanguage);
+        if (csvHash == null) {
+            return "remote";
+        }
+        if (!"off".equals(configManager.getGlossaryLocalMode())) {
+            return csvHash;
+        }
+        GlossaryRegistry.Entry registered = glossaryRegistry.get(targetLanguage);
+        return registered != null && registered.csvHash() != null ? registered.csvHash() : "remote";
+    }
 
-        logger.info("Comparing files for changes:");
-        logger.info("Original file: {}", originalFile);
-        logger.info("New file: {}", newFile);
+    // Whether a translation run applies the glossary file as it is on disk, so the file can be recorded as the glossary
+    // the output was produced with. False while a remote glossary is known to predate the file, or its origin is unknown.
+    public boolean isGlossaryFileApplied(String targetLanguage) {
+        String csvHash = localGlossaryHash(targetLanguage);
+        if (csvHash == null || !"off".equals(configManager.getGlossaryLocalMode())) {
+            return true;
+        }
+        GlossaryRegistry.Entry registered = glossaryRegistry.get(targetLanguage);
+        return registered != null && csvHash.equals(registered.csvHash());
+    }
 
-        Map<String, PropertyEntry> originalMap = new HashMap<>();
-        originalEntries.forEach(entry -> {
-            if (entry.type == PropertyEntry.EntryType.PROPERTY) {
-                originalMap.put(entry.key, entry);
+    // Null when there is no glossary file or it cannot be read.
+    private String localGlossaryHash(String targetLanguage) {
+        Path localGlossary = Paths.get(configManager.getLocalGlossaryPath(targetLanguage));
+        if (!Files.exists(localGlossary)) {
+            return null;
+        }
+        try {
+            return ContentHash.sha256(localGlossary);
+        } catch (IOException e) {
+            logger.warn("Unable to hash glossary file {}: {}", localGlossary, e.getMessage());
+            return null;
+        }
+    }
+
+    private void translateSegmentsInBatches(List<SourceTexts.Segment> segments, Set<String> editedSegments, LanguageRun run, String glossaryVersion,
+                                            Map<String, List<PendingEntry>> waitingBySegment) throws IOException {
+        String targetLanguage = run.targetLanguage;
+        List<SourceTexts.Segment> edited = new ArrayList<>();
+        List<SourceTexts.Segment> refreshed = new ArrayList<>();
+        for (SourceTexts.Segment segment : segments) {
+            (editedSegments.contains(segment.normalized()) ? edited : refreshed).add(segment);
+        }
+        // Edited sentences go first and never share a batch with refreshes, so each batch has one scheduling flow.
+        List<List<SourceTexts.Segment>> batches = buildBatches(edited);
+        int editedBatches = batches.size();
+        batches.addAll(buildBatches(refreshed));
+        int maxInFlight = configManager.getMaxInFlightRequests();
+        logger.info("Translating {} sentences ({} from new or changed keys) for language {} in {} batch request(s) with up to {} in flight",
+                segments.size(), edited.size(), targetLanguage, batches.size(), maxInFlight);
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(batches.size());
+        try {
+            for (int i = 0; i < batches.size(); i++) {
+                inFlight.acquire();
+                CompletableFuture<Void> future = translateBatchAsync(batches.get(i), i < editedBatches, run, glossaryVersion, waitingBySegment);
+                future.whenComplete((result, failure) -> inFlight.release());
+                futures.add(future);
             }
-        });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IOException("Interrupted while translating language " + targetLanguage, e);
+        }
 
-        for (PropertyEntry newEntry : newEntries) {
-            if (newEntry.type == PropertyEntry.EntryType.PROPERTY) {
-                PropertyEntry originalEntry = originalMap.get(newEntry.key);
-                if (originalEntry == null) {
-                    logger.info("New entry detected - Key: {}, Value: {}", newEntry.key, String.join("", newEntry.lines));
-                    modifiedEntries.add(newEntry);
-                } else if (!originalEntry.lines.equals(newEntry.lines)) {
-                    logger.info("Modified entry detected - Key: {}", newEntry.key);
-                    logger.info("  Original value: {}", String.join("", originalEntry.lines));
-                    logger.info("  New value: {}", String.join("", newEntry.lines));
-                    modifiedEntries.add(newEntry);
-                }
+        for (int i = 0; i < batches.size(); i++) {
+            try {
+                futures.get(i).join();
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                translateBatchSegmentsIndividually(batches.get(i), i < editedBatches, run, glossaryVersion, waitingBySegment, cause);
+            }
+        }
+    }
+
+    private CompletableFuture<List<String>> callBackend(List<String> contents, int characters, boolean edited, LanguageRun run) {
+        LocalGlossary localGlossary = run.localGlossary;
+        if (localGlossary == null) {
+            return sendToBackend(contents, characters, edited, run);
+        }
+        if (run.protectGlossaryTerms) {
+            List<LocalGlossary.Protected> protectedContents = new ArrayList<>(contents.size());
+            List<String> texts = new ArrayList<>(contents.size());
+            for (String content : contents) {
+                LocalGlossary.Protected protectedContent = localGlossary.protect(content);
+                protectedContents.add(protectedContent);
+                texts.add(protectedContent.text());
             }
+            return sendToBackend(texts, characters, edited, run).thenCompose(translations -> {
+                LocalGlossary.Applied[] restored = new LocalGlossary.Applied[translations.size()];
+                List<Integer> damaged = new ArrayList<>();
+                for (int i = 0; i < translations.size(); i++) {
+                    restored[i] = localGlossary.restore(protectedContents.get(i), translations.get(i));
+                    if (restored[i].missing() > 0) {
+                        damaged.add(i);
+                    }
+                }
+                if (damaged.isEmpty()) {
+                    return CompletableFuture.completedFuture(applyLocalGlossary(restored.length, run, i -> restored[i]));
+                }
+                // The backend dropped or rewrote a placeholder, which would lose its term. Those sentences are sent
+                // again unprotected and checked the way verify mode does, rather than storing the damaged text.
+                logger.debug("{} of {} protected sentences for {} lost a glossary placeholder; retranslating them unprotected",
+                        damaged.size(), translations.size(), run.targetLanguage);
+                run.glossaryRetranslations.add(damaged.size());
+                List<String> retry = new ArrayList<>(damaged.size());
+                int retryCharacters = 0;
+                for (int index : damaged) {
+                    retry.add(contents.get(index));
+                    retryCharacters += contents.get(index).length();
+                }
+                return sendToBackend(retry, retryCharacters, edited, run).thenApply(retranslations -> {
+                    if (retranslations.size() != retry.size()) {
+                        throw new IllegalStateException("Expected " + retry.size() + " translations but received " + retranslations.size());
+                    }
+                    for (int i = 0; i < damaged.size(); i++) {
+                        int index = damaged.get(i);
+                        restored[index] = localGlossary.verify(contents.get(index), retranslations.get(i));
+                    }
+                    return applyLocalGlossary(restored.length, run, i -> restored[i]);
+                });
+            });
         }
+        return sendToBackend(contents, characters, edited, run).thenApply(translations -> applyLocalGlossary(translations.size(), run,
+                i -> localGlossary.verify(contents.get(i), translations.get(i))));
+    }
 
-        logger.info("Total modified/new entries detected: {}", modifiedEntries.size());
-        return modifiedEntries;
+    private static List<String> applyLocalGlossary(int count, LanguageRun run, IntFunction<LocalGlossary.Applied> apply) {
+        List<String> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalGlossary.Applied applied = apply.apply(i);
+            run.glossaryTermsApplied.add(applied.applied());
+            run.glossaryTermsRepaired.add(applied.repaired());
+            run.glossaryTermsMissing.add(applied.missing());
+            results.add(applied.text());
+        }
+        return results;
     }
 
+    private CompletableFuture<List<String>> sendToBackend(List<String> contents, int characters, boolean edited, LanguageRun run) {
+        long queuedAt = System.nanoTime();
+        boolean[] dispatched = new boolean[1];
+        // Sized to the payload, so a stalled small request is given up on long before the client's default timeout.
+        long deadlineMillis = configManager.getDeadlineBaseMillis() + characters * configManager.getDeadlinePerThousandCharactersMillis() / 1000;
+        return apiCallGuard.callAsync(run.targetLanguage + (edited ? "/edited" : "/refresh"), run.schedulerWeight(edited), characters, () -> {
+            // Retries queue again; only the wait before the first attempt is recorded.
+            if (!dispatched[0]) {
+                dispatched[0] = true;
+                (edited ? run.editedQueueWait : run.refreshQueueWait).recordNanos(System.nanoTime() - queuedAt);
+            }
+            if (firstRequestMillis.get() < 0) {
+                long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+                if (firstRequestMillis.compareAndSet(-1, uptimeMillis)) {
+                    logger.info("First translation request sent {} ms after JVM start", uptimeMillis);
+                }
+            }
+            run.charactersSent.add(characters);
+            run.segmentsSent.add(contents.size());
+            long start = System.nanoTime();
+            // The backend's own future is returned, so cancelling the slower of a call and its hedge reaches the backend.
+            CompletableFuture<List<String>> request = translationBackend.translateAsync(contents, run.targetLanguage, run.glossaryName, deadlineMillis);
+            request.whenComplete((translations, failure) -> run.recordRequest(System.nanoTime() - start, failure));
+            return request;
+        }, run);
+    }
 
-    private boolean createGlossaryIfNotExists(TranslationServiceClient client, LocationName parent, String glossaryName, String targetLanguage) {
-        logger.info("Checking if glossary exists: {}", glossaryName);
+    // Loaded once per language and glossary file version; null when local mode is off or there is no usable file.
+    private LocalGlossary localGlossary(String targetLanguage, String glossaryVersion) {
+        if ("off".equals(configManager.getGlossaryLocalMode()) || "remote".equals(glossaryVersion)) {
+            return null;
+        }
         try {
-            client.getGlossary(glossaryName);
-            logger.info("Glossary already exists: {}", glossaryName);
-            return true;
-        } catch (ApiException e) {
-            if (e.getStatusCode().getCode() == StatusCode.Code.NOT_FOUND) {
-                logger.info("Glossary not found. Attempting to create glossary: {}", glossaryName);
+            return localGlossaries.computeIfAbsent(targetLanguage + '\u0000' + glossaryVersion, key -> {
                 try {
-                    createGlossary(client, parent, targetLanguage);
-                    return true;
-                } catch (IOException createException) {
-                    logger.error("Failed to create glossary: {}", createException.getMessage(), createException);
-                    return false;
+                    return LocalGlossary.load(Paths.get(configManager.getLocalGlossaryPath(targetLanguage)), targetLanguage);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-            } else {
-                logger.error("Error checking glossary: {}", e.getMessage(), e);
-                return false;
-            }
+            });
+        } catch (UncheckedIOException e) {
+            logger.warn("Unable to load local glossary for {}: {}. Falling back to the remote glossary.", targetLanguage, e.getCause().getMessage());
+            return null;
         }
     }
 
-    private void createGlossary(TranslationServiceClient client, LocationName parent, String targetLanguage) throws IOException {
-        logger.info("Starting glossary creation process for language: {}", targetLanguage);
-        String inputUri = String.format("gs://%s/%s", configManager.getBucketName(), configManager.getGlossaryFileName(targetLanguage));
-        logger.debug("Input URI for glossary: {}", inputUri);
+    private List<List<SourceTexts.Segment>> buildBatches(List<SourceTexts.Segment> segments) {
+        int maxSegments = configManager.getBatchMaxSegments();
+        int maxCodepoints = configManager.getBatchMaxCodepoints();
 
-        GcsSource gcsSource = GcsSource.newBuilder().setInputUri(inputUri).build();
-        GlossaryInputConfig inputConfig = GlossaryInputConfig.newBuilder().setGcsSource(gcsSource).build();
+        List<List<SourceTexts.Segment>> batches = new ArrayList<>();
+        List<SourceTexts.Segment> currentBatch = new ArrayList<>();
+        int currentCodepoints = 0;
 
-        Glossary.LanguageCodePair languageCodePair = Glossary.LanguageCodePair.newBuilder()
-                .setSourceLanguageCode("en")
-                .setTargetLanguageCode(targetLanguage)
-                .build();
+        for (SourceTexts.Segment segment : segments) {
+            int codepoints = segment.content().codePointCount(0, segment.content().length());
+            if (!currentBatch.isEmpty() && (currentBatch.size() >= maxSegments || currentCodepoints + codepoints > maxCodepoints)) {
+                batches.add(currentBatch);
+                currentBatch = new ArrayList<>();
+                currentCodepoints = 0;
+            }
+            currentBatch.add(segment);
+            currentCodepoints += codepoints;
+        }
+        if (!currentBatch.isEmpty()) {
+            batches.add(currentBatch);
+        }
+        return batches;
+    }
 
-        String glossaryId = "glossary-" + targetLanguage.toLowerCase();
-        String fullGlossaryName = LocationName.of(configManager.getProjectId(), configManager.getLocation()).toString() + "/glossaries/" + glossaryId;
+    private CompletableFuture<Void> translateBatchAsync(List<SourceTexts.Segment> batch, boolean edited, LanguageRun run, String glossaryVersion,
+                                                        Map<String, List<PendingEntry>> waitingBySegment) {
+        String targetLanguage = run.targetLanguage;
+        List<String> contents = new ArrayList<>(batch.size());
+        int characters = 0;
+        for (SourceTexts.Segment segment : batch) {
+            contents.add(segment.content());
+            characters += segment.content().length();
+        }
 
-        Glossary glossary = Glossary.newBuilder()
-                .setName(fullGlossaryName)
-                .setLanguagePair(languageCodePair)
-                .setInputConfig(inputConfig)
-                .build();
+        return callBackend(contents, characters, edited, run)
+                .thenAcceptAsync(translations -> {
+                    if (translations.size() != batch.size()) {
+                        throw new IllegalStateException("Expected " + batch.size() + " translations but received " + translations.size());
+                    }
 
-        CreateGlossaryRequest request = CreateGlossaryRequest.newBuilder()
-                .setParent(parent.toString())
-                .setGlossary(glossary)
-                .build();
+                    for (int i = 0; i < batch.size(); i++) {
+                        storeTranslation(batch.get(i), translations.get(i), run, glossaryVersion);
+                    }
+                    completeEntries(batch, waitingBySegment, run);
+                    logger.debug("Successfully translated batch of {} sentences for language {}", batch.size(), targetLanguage);
+                }, completionExecutor);
+    }
 
-        logger.info("Creating glossary with configuration - ID: {}, Source: en, Target: {}, URI: {}",
-                glossaryId, targetLanguage, inputUri);
+    private void translateBatchSegmentsIndividually(List<SourceTexts.Segment> batch, boolean edited, LanguageRun run, String glossaryVersion,
+                                                    Map<String, List<PendingEntry>> waitingBySegment, Throwable batchFailure) throws IOException {
+        String targetLanguage = run.targetLanguage;
+        if (batchFailure instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (ApiCallGuard.isQuotaExhausted(batchFailure)) {
+            throw new IOException("Translation quota exhausted for language " + targetLanguage + ". Not writing untranslated source text.", batchFailure);
+        }
 
-        OperationFuture<Glossary, CreateGlossaryMetadata> future = client.createGlossaryAsync(request);
+        logger.warn("Batch translation of {} sentences failed for language {}. Falling back to per-sentence translation. Error: {}",
+                batch.size(), targetLanguage, batchFailure.getMessage());
+        for (SourceTexts.Segment segment : batch) {
+            if (translateSegment(segment, edited, run, glossaryVersion)) {
+                completeEntries(List.of(segment), waitingBySegment, run);
+            }
+        }
+    }
 
-        int timeoutMinutes = Integer.parseInt(configManager.getConfig().getProperty("glossary.creation.timeout.minutes", "5"));
+    // False when the sentence could not be translated; the entries containing it keep their source text.
+    private boolean translateSegment(SourceTexts.Segment segment, boolean edited, LanguageRun run, String glossaryVersion) throws IOException {
+        String targetLanguage = run.targetLanguage;
+        logger.debug("Translating sentence {} glossary - Target language: {}", run.glossaryName != null ? "with" : "without", targetLanguage);
+        logger.trace("Content to translate: {}", segment.content());
         try {
-            Glossary createdGlossary = future.get(timeoutMinutes, TimeUnit.MINUTES);
-            logger.info("Successfully created glossary: {}", createdGlossary.getName());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error("Glossary creation was interrupted", e);
-            throw new IOException("Glossary creation was interrupted", e);
-        } catch (ExecutionException e) {
-            handleExecutionException(e);
-        } catch (TimeoutException e) {
-            future.cancel(true);
-            logger.error("Glossary creation timed out after {} minutes", timeoutMinutes, e);
-            throw new IOException("Glossary creation timed out after " + timeoutMinutes + " minutes", e);
+            List<String> translations = callBackend(List.of(segment.content()), segment.content().length(), edited, run).join();
+            storeTranslation(segment, translations.get(0), run, glossaryVersion);
+            return true;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (ApiCallGuard.isQuotaExhausted(cause)) {
+                throw new IOException("Translation quota exhausted for language " + targetLanguage + ". Not writing untranslated source text.", cause);
+            }
+            logger.error("Failed to translate sentence for language {}: '{}'. Error: {}", targetLanguage, segment.content(), cause.getMessage(), cause);
+            return false;
         }
     }
 
-    private void handleExecutionException(ExecutionException e) throws IOException {
-        Throwable cause = e.getCause();
-        if (cause instanceof ApiException apiException) {
-            handleApiException(apiException);
-        } else {
-            logger.error("Error during glossary creation", e);
-            throw new IOException("Error during glossary creation", e);
-        }
+    private void storeTranslation(SourceTexts.Segment segment, String translation, LanguageRun run, String glossaryVersion) {
+        String translatedText = translation.trim();
+        translationMemory.put(segment.normalized(), run.targetLanguage, glossaryVersion, translatedText);
+        run.translationsByText.put(segment.normalized(), translatedText);
+        run.apiSegments.increment();
     }
 
-    private void handleApiException(ApiException e) throws IOException {
-        StatusCode.Code code = e.getStatusCode().getCode();
-        String message = String.format("API error during glossary creation (Code: %s): %s",
-                code, e.getMessage());
+    private PropertyEntry toTranslatedEntry(PropertyEntry entry, String fullValue, String translatedText) {
+        String translatedValue = formatTranslatedText(extractKey(fullValue), extractContent(fullValue), translatedText);
+        return new PropertyEntry(entry.key, List.of(translatedValue.split("\n")), PropertyEntry.EntryType.PROPERTY);
+    }
 
-        switch (code) {
-            case ALREADY_EXISTS:
-                logger.info("Glossary already exists. Proceeding with existing glossary.");
-                break;
-            case INVALID_ARGUMENT:
-                logger.error("Invalid glossary configuration: {}", e.getMessage(), e);
-                throw new IOException("Invalid glossary configuration: " + e.getMessage(), e);
-            case PERMISSION_DENIED:
-                logger.error("Permission denied. Please check credentials and project permissions.", e);
-                throw new IOException("Permission denied. Please check your credentials and project permissions.", e);
-            case NOT_FOUND:
-                logger.error("Resource not found. Please check if the glossary file exists in the GCS bucket.", e);
-                throw new IOException("Resource not found. Please check if the glossary file exists in the GCS bucket.", e);
-            case RESOURCE_EXHAUSTED:
-                logger.error("Resource quota exceeded. Please try again later.", e);
-                throw new IOException("Resource quota exceeded. Please try again later.", e);
-            default:
-                logger.error(message, e);
-                throw new IOException(message, e);
-        }
-    }
-
-    private String translateValueWithGlossary(TranslationServiceClient client, LocationName parent, String value, String targetLanguage, String glossaryName) {
-        logger.debug("Translating value with glossary - Target language: {}, Glossary: {}", targetLanguage, glossaryName);
-        int separatorIndex = value.indexOf('=');
-        String key = value.substring(0, separatorIndex + 1);
-        String contentToTranslate = value.substring(separatorIndex + 1);
-
-        String cleanContent = contentToTranslate.replaceAll("\\s*\\\\\n\\s*", " ").trim();
-        logger.trace("Content to translate: {}", cleanContent);
-
-        TranslateTextGlossaryConfig glossaryConfig = TranslateTextGlossaryConfig.newBuilder()
-                .setGlossary(glossaryName)
-                .build();
-
-        TranslateTextRequest request = TranslateTextRequest.newBuilder()
-                .setParent(parent.toString())
-                .setMimeType("text/plain")
-                .setSourceLanguageCode("en")
-                .setTargetLanguageCode(targetLanguage)
-                .addContents(cleanContent)
-                .setGlossaryConfig(glossaryConfig)
-                .build();
+    static String extractKey(String value) {
+        return value.substring(0, value.indexOf('=') + 1);
+    }
 
-        try {
-            TranslateTextResponse response = client.translateText(request);
-            String translatedText = response.getGlossaryTranslations(0).getTranslatedText().trim();
-            logger.debug("Successfully translated text with glossary for key: {}", key);
-            return formatTranslatedText(key, contentToTranslate, translatedText);
-        } catch (Exception e) {
-            logger.error("Error translating text with glossary - Key: {}, Error: {}", key, e.getMessage(), e);
-            throw e;
-        }
+    static String extractContent(String value) {
+        return value.substring(value.indexOf('=') + 1);
     }
 
-    private String translateValueWithoutGlossary(TranslationServiceClient client, LocationName parent, String value, String targetLanguage) {
-        logger.debug("Translating value without glossary - Target language: {}", targetLanguage);
-        int separatorIndex = value.indexOf('=');
-        String key = value.substring(0, separatorIndex + 1);
-        String contentToTranslate = value.substring(separatorIndex + 1);
+    static String cleanContent(String contentToTranslate) {
+        return LINE_CONTINUATION.matcher(contentToTranslate).replaceAll(" ").trim();
+    }
 
-        String cleanContent = contentToTranslate.replaceAll("\\s*\\\\\n\\s*", " ").trim();
-        logger.trace("Content to translate: {}", cleanContent);
+    // Returns the glossary to translate with, or null to translate without one. A fresh registry entry
+    // skips the remote lookup; a missing glossary is created in the background unless the policy is "wait".
+    private String resolveGlossaryName(String targetLanguage) {
+        GlossaryRegistry.Entry cached = glossaryRegistry.lookup(targetLanguage);
+        if (cached != null) {
+            metrics.counter("glossary_registry_lookups_total", "result", "hit").increment();
+            logger.info("Using registered glossary {} ({} entries)", cached.glossaryName(), cached.entryCount());
+            String csvHash = localGlossaryHash(targetLanguage);
+            if (cached.csvHash() != null && csvHash != null && !cached.csvHash().equals(csvHash)) {
+                logger.warn("Local glossary file for {} differs from the one glossary {} was created from; run updateGlossary to apply it",
+                        targetLanguage, cached.glossaryName());
+            }
+            return cached.glossaryName();
+        }
+        metrics.counter("glossary_registry_lookups_total", "result", "miss").increment();
 
-        TranslateTextRequest request = TranslateTextRequest.newBuilder()
-                .setParent(parent.toString())
-                .setMimeType("text/plain")
-                .setSourceLanguageCode("en")
-                .setTargetLanguageCode(targetLanguage)
-                .addContents(cleanContent)
-                .build();
+        String glossaryName = glossaryBackend.glossaryName(targetLanguage);
+        logger.info("Checking if glossary exists: {}", glossaryName);
+        try {
+            GlossaryBackend.GlossaryInfo info = glossaryBackend.describeGlossary(targetLanguage);
+            if (info != null) {
+                logger.info("Glossary already exists: {} ({} entries)", info.name(), info.entryCount());
+                glossaryRegistry.record(targetLanguage, info, null);
+                return info.name();
+            }
+        } catch (IOException e) {
+            logger.error("Error checking glossary: {}", e.getMessage(), e);
+            return null;
+        }
 
+        if ("wait".equals(configManager.getGlossaryMissingPolicy())) {
+            logger.info("Glossary not found. Attempting to create glossary: {}", glossaryName);
+            return createAndRegisterGlossary(targetLanguage) ? glossaryName : null;
+        }
+        logger.info("Glossary not found. Creating {} in the background; this run translates {} without a glossary", glossaryName, targetLanguage);
+        if (pendingGlossaryCreations.add(targetLanguage)) {
+            glossaryCreationExecutor().execute(() -> {
+                try {
+                    createAndRegisterGlossary(targetLanguage);
+                } finally {
+                    pendingGlossaryCreations.remove(targetLanguage);
+                }
+            });
+        }
+        return null;
+    }
+
+    private boolean createAndRegisterGlossary(String targetLanguage) {
         try {
-            TranslateTextResponse response = client.translateText(request);
-            String translatedText = response.getTranslations(0).getTranslatedText().trim();
-            logger.debug("Successfully translated text without glossary for key: {}", key);
-            return formatTranslatedText(key, contentToTranslate, translatedText);
-        } catch (Exception e) {
-            logger.error("Error translating text without glossary - Key: {}, Error: {}", key, e.getMessage(), e);
-            throw e;
+            glossaryBackend.createGlossary(targetLanguage);
+            GlossaryBackend.GlossaryInfo info = glossaryBackend.describeGlossary(targetLanguage);
+            if (info != null) {
+                glossaryRegistry.record(targetLanguage, info, null);
+            }
+            return true;
+        } catch (IOException createException) {
+            logger.error("Failed to create glossary: {}", createException.getMessage(), createException);
+            return false;
+        }
+    }
+
+    private synchronized ExecutorService glossaryCreationExecutor() {
+        if (glossaryCreationExecutor == null) {
+            // Daemon threads: the create operation completes server-side even if this process exits first.
+            glossaryCreationExecutor = Executors.newFixedThreadPool(Math.max(1, configManager.getLanguageParallelism()), runnable -> {
+                Thread thread = new Thread(runnable, "glossary-create");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return glossaryCreationExecutor;
+    }
+
+    // Stops the API dispatcher and the worker pools; glossaries still being created finish in the background.
+    @Override
+    public synchronized void close() {
+        apiCallGuard.close();
+        completionExecutor.shutdown();
+        if (glossaryCreationExecutor != null) {
+            glossaryCreationExecutor.shutdown();
         }
     }
 
-    private String formatTranslatedText(String key, String originalContent, String translatedText) {
+    static String formatTranslatedText(String key, String originalContent, String translatedText) {
         logger.trace("Formatting translated text - Key: {}", key);
         String[] originalLines = originalContent.split("\n");
         StringBuilder result = new StringBuilder(key);
@@ -350,7 +871,7 @@ public List<PropertyEntry> translateProperties(List<PropertyEntry> entries, Stri
         return finalResult;
     }
 
-    private String getLeadingWhitespace(String s) {
+    static String getLeadingWhitespace(String s) {
         StringBuilder whitespace = new StringBuilder();
         for (char c : s.toCharArray()) {
             if (Character.isWhitespace(c)) {
@@ -362,4 +883,237 @@ public List<PropertyEntry> translateProperties(List<PropertyEntry> entries, Stri
         return whitespace.toString();
     }
 
+    @FunctionalInterface
+    public interface TranslationSink {
+        void accept(PropertyEntry sourceEntry, PropertyEntry translatedEntry) throws IOException;
+    }
+
+    private record FuzzyIndexEntry(String stamp, FuzzyMatchIndex index) {
+    }
+
+    // An entry waiting for some of its sentences. Filled in by whichever batch delivers its last missing sentence.
+    private static final class PendingEntry {
+        private final PropertyEntry entry;
+        private final String fullValue;
+        private final int position;
+        private final List<SourceTexts.Segment> segments;
+        // Translations known before sending (memory or earlier windows); null for the sentences sent to the API.
+        private final String[] translations;
+        // Whether this entry was the first in its window to need the sentence, and so the one that sent it.
+        private final boolean[] sent;
+        private final AtomicInteger remaining = new AtomicInteger();
+        private volatile PropertyEntry translated;
+
+        private PendingEntry(PropertyEntry entry, String fullValue, int position, List<SourceTexts.Segment> segments, String[] translations) {
+            this.entry = entry;
+            this.fullValue = fullValue;
+            this.position = position;
+            this.segments = segments;
+            this.translations = translations;
+            this.sent = new boolean[segments.size()];
+        }
+    }
+
+    private class LanguageRun implements ApiCallGuard.HedgeListener {
+        private final String targetLanguage;
+        private final String glossaryVersion;
+        private final BundleDelta delta;
+        private final TranslationJournal journal;
+        private final boolean interactive;
+        private final double weight;
+        private boolean glossaryResolved;
+        private String glossaryName;
+        private LocalGlossary localGlossary;
+        private boolean protectGlossaryTerms;
+        private int memoryHits;
+        private int pendingEntries;
+        private final Set<String> fallbackKeys = new LinkedHashSet<>();
+        private int cacheOnlyMisses;
+        private int segmentMemoryHits;
+        private int fuzzyHits;
+        private int fuzzyNearMisses;
+        private boolean fuzzyIndexResolved;
+        private FuzzyMatchIndex fuzzyIndex;
+        private int uniqueSegments;
+        private int duplicateSegments;
+        private long duplicateCharacters;
+        private final AtomicInteger hedgesSent = new AtomicInteger();
+        private final AtomicInteger hedgesWon = new AtomicInteger();
+        private final AtomicInteger hedgesDenied = new AtomicInteger();
+        private final LatencyWindow hedgedLatencies = new LatencyWindow(LATENCY_SAMPLES);
+        private final LatencyWindow unhedgedLatencies = new LatencyWindow(LATENCY_SAMPLES);
+        // API translations of this run by normalized sentence, so every other key containing it reuses them.
+        private final Map<String, String> translationsByText = new ConcurrentHashMap<>();
+        private final Metrics.Counter reusedEntries;
+        private final Metrics.Counter journalEntries;
+        private final Metrics.Counter memoryEntries;
+        private final Metrics.Counter dedupEntries;
+        private final Metrics.Counter dedupCharactersSaved;
+        private final Metrics.Counter memorySegments;
+        private final Metrics.Counter dedupSegments;
+        private final Metrics.Counter apiSegments;
+        private final Metrics.Counter fuzzySegments;
+        private final Metrics.Counter fuzzyEntries;
+        private final Metrics.Histogram fuzzyQueryDuration;
+        private final Metrics.Histogram editedQueueWait;
+        private final Metrics.Histogram refreshQueueWait;
+        private final Metrics.Histogram hedgedLatency;
+        private final Metrics.Histogram unhedgedLatency;
+        private final Metrics.Counter hedgesSentCounter;
+        private final Metrics.Counter hedgesWonCounter;
+        private final Metrics.Counter hedgesDeniedCounter;
+        private final Metrics.Counter translatedEntries;
+        private final Metrics.Counter fallbackCounter;
+        private final Metrics.Counter cacheOnlyMissEntries;
+        private final Metrics.Counter charactersSent;
+        private final Metrics.Counter segmentsSent;
+        private final Metrics.Counter glossaryTermsApplied;
+        private final Metrics.Counter glossaryTermsRepaired;
+        private final Metrics.Counter glossaryTermsMissing;
+        private final Metrics.Counter glossaryRetranslations;
+        private Metrics.Histogram requestDuration;
+
+        private LanguageRun(String targetLanguage, String glossaryVersion, BundleDelta delta, TranslationJournal journal, boolean interactive) {
+            this.targetLanguage = targetLanguage;
+            this.glossaryVersion = glossaryVersion;
+            this.delta = delta;
+            this.journal = journal;
+            this.interactive = interactive;
+            String priorityClass = configManager.getPriorityClass(targetLanguage);
+            this.weight = configManager.getSchedulerWeight(priorityClass);
+            this.editedQueueWait = metrics.histogram("translation_scheduler_wait_seconds", "language", targetLanguage, "class", priorityClass, "work", "edited");
+            this.refreshQueueWait = metrics.histogram("translation_scheduler_wait_seconds", "language", targetLanguage, "class", priorityClass, "work", "refresh");
+            this.hedgedLatency = metrics.histogram("translation_call_latency_seconds", "language", targetLanguage, "hedging", "on");
+            this.unhedgedLatency = metrics.histogram("translation_call_latency_seconds", "language", targetLanguage, "hedging", "off");
+            this.hedgesSentCounter = metrics.counter("translation_hedges_total", "language", targetLanguage, "outcome", "sent");
+            this.hedgesWonCounter = metrics.counter("translation_hedges_total", "language", targetLanguage, "outcome", "won");
+            this.hedgesDeniedCounter = metrics.counter("translation_hedges_total", "language", targetLanguage, "outcome", "denied");
+            this.reusedEntries = metrics.counter("translation_entries_total", "language", targetLanguage, "source", "reused");
+            this.journalEntries = metrics.counter("translation_entries_total", "language", targetLanguage, "source", "journal");
+            this.memoryEntries = metrics.counter("translation_entries_total", "language", targetLanguage, "source", "memory");
+            this.dedupEntries = metrics.counter("translation_entries_total", "language", targetLanguage, "source", "dedup");
+            this.dedupCharactersSaved = metrics.counter("translation_dedup_characters_saved_total", "language", targetLanguage);
+            this.memorySegments = metrics.counter("translation_sentences_total", "language", targetLanguage, "source", "memory");
+            this.dedupSegments = metrics.counter("translation_sentences_total", "language", targetLanguage, "source", "dedup");
+            this.apiSegments = metrics.counter("translation_sentences_total", "language", targetLanguage, "source", "api");
+            this.fuzzySegments = metrics.counter("translation_sentences_total", "language", targetLanguage, "source", "fuzzy");
+            this.fuzzyEntries = metrics.counter("translation_entries_total", "language", targetLanguage, "source", "fuzzy");
+            this.fuzzyQueryDuration = metrics.histogram("translation_fuzzy_query_duration_seconds", "language", targetLanguage);
+            this.translatedEntries = metrics.counter("translation_entries_total", "language", targetLanguage, "source", "api");
+            this.fallbackCounter = metrics.counter("translation_entries_total", "language", targetLanguage, "source", "fallback");
+            this.cacheOnlyMissEntries = metrics.counter("translation_entries_total", "language", targetLanguage, "source", "cache_only_miss");
+            this.charactersSent = metrics.counter("translation_characters_sent_total", "language", targetLanguage);
+            this.segmentsSent = metrics.counter("translation_segments_sent_total", "language", targetLanguage);
+            this.glossaryTermsApplied = metrics.counter("glossary_local_terms_total", "language", targetLanguage, "outcome", "applied");
+            this.glossaryTermsRepaired = metrics.counter("glossary_local_terms_total", "language", targetLanguage, "outcome", "repaired");
+            this.glossaryTermsMissing = metrics.counter("glossary_local_terms_total", "language", targetLanguage, "outcome", "missing");
+            this.glossaryRetranslations = metrics.counter("glossary_local_retranslations_total", "language", targetLanguage);
+        }
+
+        private void recordDuplicate(SourceTexts.Segment segment) {
+            duplicateSegments++;
+            duplicateCharacters += segment.content().length();
+            dedupSegments.increment();
+            dedupCharactersSaved.add(segment.content().length());
+        }
+
+        private double schedulerWeight(boolean edited) {
+            return edited ? weight * configManager.getSchedulerEditedKeysFactor() : weight;
+        }
+
+        // A past translation adapted to the sentence, or null when there is no close enough match that can be adapted.
+        private String fuzzyTranslation(SourceTexts.Segment segment) {
+            if (!fuzzyIndexResolved) {
+                fuzzyIndex = configManager.isFuzzyMatchEnabled() ? fuzzyIndex(targetLanguage, glossaryVersion, delta) : null;
+                fuzzyIndexResolved = true;
+            }
+            if (fuzzyIndex == null) {
+                return null;
+            }
+            long start = System.nanoTime();
+            FuzzyMatchIndex.Match match = fuzzyIndex.closest(segment.normalized());
+            String translation = match != null ? FuzzyMatchIndex.substitute(segment.normalized(), match) : null;
+            fuzzyQueryDuration.recordNanos(System.nanoTime() - start);
+            if (translation != null) {
+                logger.debug("Adapted translation of '{}' (similarity {}) for '{}'", match.source(), String.format("%.2f", match.similarity()), segment.normalized());
+                fuzzyHits++;
+                fuzzySegments.increment();
+                translationsByText.put(segment.normalized(), translation);
+            } else if (match != null) {
+                fuzzyNearMisses++;
+            }
+            return translation;
+        }
+
+        @Override
+        public void hedgeSent() {
+            hedgesSent.incrementAndGet();
+            hedgesSentCounter.increment();
+        }
+
+        @Override
+        public void hedgeDenied() {
+            hedgesDenied.incrementAndGet();
+            hedgesDeniedCounter.increment();
+        }
+
+        // "off" is the latency each call would have had without hedging, so the two p99s show what hedging saved.
+        @Override
+        public void answered(long answerNanos, long primaryNanos, boolean hedgeWon) {
+            if (hedgeWon) {
+                hedgesWon.incrementAndGet();
+                hedgesWonCounter.increment();
+            }
+            hedgedLatency.recordNanos(answerNanos);
+            unhedgedLatency.recordNanos(primaryNanos);
+            hedgedLatencies.record(answerNanos);
+            unhedgedLatencies.record(primaryNanos);
+        }
+
+        private void recordRequest(long nanos, Throwable failure) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            String outcome = cause == null ? "ok"
+                    : cause instanceof CancellationException ? "CANCELLED"
+                    : cause instanceof ApiException apiException ? apiException.getStatusCode().getCode().name()
+                    : cause.getClass().getSimpleName();
+            String glossary = glossaryLabel();
+            requestDuration.recordNanos(nanos);
+            metrics.counter("translation_requests_total", "language", targetLanguage, "glossary", glossary, "outcome", outcome).increment();
+        }
+
+        // The journal only saves work on a restart, so a failed append costs a retranslation rather than the run.
+        private void journal(List<PropertyEntry> sources, List<PropertyEntry> translations) {
+            if (journal == null) {
+                return;
+            }
+            try {
+                journal.append(sources, translations, glossaryVersion);
+            } catch (IOException e) {
+                logger.warn("Failed to append to translation journal for {}: {}", targetLanguage, e.getMessage());
+            }
+        }
+
+        private String glossaryLabel() {
+            return localGlossary != null ? "local" : String.valueOf(glossaryName != null);
+        }
+
+        private void resolveGlossary() {
+            if (glossaryResolved) {
+                return;
+            }
+
+            localGlossary = localGlossary(targetLanguage, glossaryVersion);
+            if (localGlossary != null) {
+                protectGlossaryTerms = "protect".equals(configManager.getGlossaryLocalMode());
+                logger.info("Applying local glossary for {} ({} terms, mode {}) instead of a remote glossary",
+                        targetLanguage, localGlossary.size(), configManager.getGlossaryLocalMode());
+            } else {
+                glossaryName = resolveGlossaryName(targetLanguage);
+                logger.info("Glossary status for {}: exists={}", targetLanguage, glossaryName != null);
+            }
+            requestDuration = metrics.histogram("translation_request_duration_seconds", "language", targetLanguage, "glossary", glossaryLabel());
+            glossaryResolved = true;
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void throttlingHalvesLimitDownToMinimum() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 3, 32);
+
+        limiter.acquire();
+        limiter.release(true, System.nanoTime());
+        assertEquals(8, limiter.getLimit());
+        limiter.acquire();
+        limiter.release(true, System.nanoTime());
+        limiter.acquire();
+        limiter.release(true, System.nanoTime());
+        assertEquals(3, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void throttlesFromCallsStartedBeforeTheLastDecreaseAreIgnored() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 1, 32);
+        long burstStart = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+
+        for (int i = 0; i < 4; i++) {
+            limiter.release(true, burstStart);
+        }
+        assertEquals(8, limiter.getLimit());
+
+        limiter.acquire();
+        limiter.release(true, System.nanoTime());
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void successesGrowLimitByOneSlotPerWindowUpToMaximum() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 5);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+            limiter.release(false, System.nanoTime());
+        }
+        assertEquals(4, limiter.getLimit());
+        limiter.acquire();
+        limiter.release(false, System.nanoTime());
+        assertEquals(5, limiter.getLimit());
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire();
+            limiter.release(false, System.nanoTime());
+        }
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void unusedSlotLeavesLimitUnchanged() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 8);
+
+        limiter.acquire();
+        limiter.acquire();
+        assertEquals(2, limiter.getInFlight());
+        limiter.releaseUnused();
+        limiter.releaseUnused();
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void initialLimitIsClampedToBounds() {
+        assertEquals(4, new AdaptiveConcurrencyLimiter(100, 1, 4).getLimit());
+        assertEquals(2, new AdaptiveConcurrencyLimiter(0, 2, 4).getLimit());
+    }
+}
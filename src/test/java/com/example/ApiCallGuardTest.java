@@ -0,0 +1,163 @@
+package com.example;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApiCallGuardTest {
+
+    @Test
+    void retriesThrottledCallsAndShrinksConcurrency() {
+        AtomicInteger attempts = new AtomicInteger();
+        try (ApiCallGuard guard = guard(8, 5, null)) {
+            String result = guard.callAsync(10, () -> attempts.incrementAndGet() < 3
+                    ? CompletableFuture.<String>failedFuture(SimulatedTranslationBackend.failure(StatusCode.Code.RESOURCE_EXHAUSTED, "throttled"))
+                    : CompletableFuture.completedFuture("ok")).join();
+
+            assertEquals("ok", result);
+            assertEquals(3, attempts.get());
+            assertEquals(2, guard.getConcurrencyLimit());
+            assertEquals(0, guard.getInFlight());
+        }
+    }
+
+    @Test
+    void failsWithoutRetryOnNonRetryableStatus() {
+        AtomicInteger attempts = new AtomicInteger();
+        try (ApiCallGuard guard = guard(8, 5, null)) {
+            CompletionException failure = assertThrows(CompletionException.class, () -> guard.callAsync(10, () -> {
+                attempts.incrementAndGet();
+                return CompletableFuture.failedFuture(SimulatedTranslationBackend.failure(StatusCode.Code.INVALID_ARGUMENT, "bad request"));
+            }).join());
+
+            assertEquals(StatusCode.Code.INVALID_ARGUMENT, ((ApiException) failure.getCause()).getStatusCode().getCode());
+            assertEquals(1, attempts.get());
+        }
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        try (ApiCallGuard guard = guard(8, 3, null)) {
+            CompletionException failure = assertThrows(CompletionException.class, () -> guard.callAsync(10, () -> {
+                attempts.incrementAndGet();
+                return CompletableFuture.failedFuture(SimulatedTranslationBackend.failure(StatusCode.Code.UNAVAILABLE, "down"));
+            }).join());
+
+            assertTrue(ApiCallGuard.isRetryable(((ApiException) failure.getCause()).getStatusCode().getCode()));
+            assertEquals(3, attempts.get());
+        }
+    }
+
+    @Test
+    void hedgeAnswerCancelsStalledPrimary() throws Exception {
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        try (ApiCallGuard guard = guard(8, 1, new RequestHedger(50, 1, 1))) {
+            // One fast call gives the hedger a latency to hedge after.
+            guard.callAsync(10, () -> CompletableFuture.completedFuture("warm-up")).join();
+
+            CompletableFuture<String> result = guard.callAsync("de", 1, 10, () -> {
+                synchronized (calls) {
+                    CompletableFuture<String> call = calls.isEmpty() ? new CompletableFuture<>() : CompletableFuture.completedFuture("hedge");
+                    calls.add(call);
+                    return call;
+                }
+            }, null);
+
+            assertEquals("hedge", result.get(5, TimeUnit.SECONDS));
+            assertTrue(calls.get(0).isCancelled(), "the stalled primary should be cancelled");
+            assertEquals(0, guard.getInFlight());
+        }
+    }
+
+    @Test
+    void closeStopsDispatcherAndRetryThreads() throws InterruptedException {
+        Set<Thread> existing = guardThreads();
+        ApiCallGuard guard = guard(8, 3, null);
+        AtomicInteger attempts = new AtomicInteger();
+        // A retry starts the retry scheduler's thread as well.
+        guard.callAsync(10, () -> attempts.incrementAndGet() < 2
+                ? CompletableFuture.<String>failedFuture(SimulatedTranslationBackend.failure(StatusCode.Code.UNAVAILABLE, "down"))
+                : CompletableFuture.completedFuture("ok")).join();
+        Set<Thread> started = guardThreads();
+        started.removeAll(existing);
+        assertEquals(2, started.size());
+
+        guard.close();
+
+        for (Thread thread : started) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(thread.isAlive(), thread.getName() + " should stop when the guard is closed");
+        }
+    }
+
+    @Test
+    void closeFailsCallsInFlightQueuedAndSubmittedLater() throws Exception {
+        ApiCallGuard guard = guard(1, 1, null);
+        CompletableFuture<String> stalled = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = guard.callAsync(10, () -> stalled);
+        CompletableFuture<String> queued = guard.callAsync(10, () -> CompletableFuture.completedFuture("never sent"));
+        while (guard.getInFlight() == 0) {
+            Thread.sleep(1);
+        }
+
+        guard.close();
+
+        for (CompletableFuture<String> result : List.of(inFlight, queued,
+                guard.callAsync(10, () -> CompletableFuture.completedFuture("too late")))) {
+            CompletionException failure = assertThrows(CompletionException.class, result::join);
+            assertTrue(failure.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(0, guard.getQueued());
+    }
+
+    // AIMD against the simulated backend's character quota: throttled calls halve the window and are retried after a
+    // backoff until the quota lets them through, so every call is answered in the end.
+    @Test
+    void throttlingSimulatedBackendBacksOffUntilAllCallsSucceed() {
+        SimulatedTranslationBackend backend = new SimulatedTranslationBackend(1, 2, 0, 0, 5000, 0, 0, 1);
+        try (ApiCallGuard guard = new ApiCallGuard(new RateLimiter(0), new RateLimiter(0), new AdaptiveConcurrencyLimiter(16, 1, 16),
+                50, 10, 200, null)) {
+            String content = "x".repeat(500);
+            List<CompletableFuture<List<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                results.add(guard.callAsync(content.length(), () -> backend.translateAsync(List.of(content), "de", null, 10_000)));
+            }
+
+            for (CompletableFuture<List<String>> result : results) {
+                assertEquals(SimulatedTranslationBackend.pseudoTranslate(content, "de"), result.join().get(0));
+            }
+            assertTrue(guard.getConcurrencyLimit() < 16, "throttling should have shrunk the concurrency limit");
+            assertEquals(0, guard.getInFlight());
+        }
+    }
+
+    private static ApiCallGuard guard(int concurrency, int maxAttempts, RequestHedger hedger) {
+        return new ApiCallGuard(new RateLimiter(0), new RateLimiter(0), new AdaptiveConcurrencyLimiter(concurrency, 1, concurrency),
+                maxAttempts, 1, 5, hedger);
+    }
+
+    private static Set<Thread> guardThreads() {
+        Set<Thread> threads = new HashSet<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("translate-dispatch") || thread.getName().equals("translate-retry")) {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+}
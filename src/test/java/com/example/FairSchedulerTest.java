@@ -0,0 +1,87 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FairSchedulerTest {
+    private final FairScheduler scheduler = new FairScheduler();
+    private final List<String> order = new ArrayList<>();
+
+    @Test
+    void backloggedFlowsShareInProportionToWeight() {
+        for (int i = 0; i < 6; i++) {
+            submit("de", 2, 1);
+            submit("fr", 1, 1);
+        }
+
+        run(6);
+
+        assertEquals(List.of("de", "fr", "de", "de", "fr", "de"), order);
+    }
+
+    @Test
+    void costIsChargedByCharacters() {
+        submit("de", 1, 300);
+        submit("de", 1, 300);
+        submit("fr", 1, 100);
+        submit("fr", 1, 100);
+        submit("fr", 1, 100);
+
+        run(5);
+
+        assertEquals(List.of("fr", "fr", "de", "fr", "de"), order);
+    }
+
+    @Test
+    void idleFlowCannotBankCredit() {
+        for (int i = 0; i < 10; i++) {
+            submit("de", 1, 1);
+        }
+        run(5);
+        order.clear();
+        for (int i = 0; i < 3; i++) {
+            submit("fr", 1, 1);
+        }
+
+        run(4);
+
+        // Starting at the virtual time, the late flow alternates with the backlogged one instead of running its three calls first.
+        assertEquals(List.of("fr", "de", "fr", "de"), order);
+    }
+
+    @Test
+    void equalTagsKeepSubmissionOrder() {
+        submit("de", 1, 1);
+        submit("fr", 1, 1);
+        submit("es", 1, 1);
+
+        run(3);
+
+        assertEquals(List.of("de", "fr", "es"), order);
+    }
+
+    @Test
+    void pollOnEmptyQueueReturnsNull() {
+        assertNull(scheduler.poll());
+        submit("de", 1, 1);
+        assertEquals(1, scheduler.size());
+        run(1);
+        assertEquals(0, scheduler.size());
+        assertNull(scheduler.poll());
+    }
+
+    private void submit(String flow, double weight, int cost) {
+        scheduler.submit(flow, weight, cost, () -> order.add(flow));
+    }
+
+    private void run(int tasks) {
+        for (int i = 0; i < tasks; i++) {
+            scheduler.poll().run();
+        }
+    }
+}
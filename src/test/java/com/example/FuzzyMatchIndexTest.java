@@ -0,0 +1,84 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FuzzyMatchIndexTest {
+
+    @Test
+    void closestFindsSimilarSourceAboveThreshold() {
+        FuzzyMatchIndex index = new FuzzyMatchIndex(
+                List.of("Upload up to 5 files at once", "Your session has expired"),
+                List.of("Laden Sie bis zu 5 Dateien gleichzeitig hoch", "Ihre Sitzung ist abgelaufen"), 0.5);
+
+        FuzzyMatchIndex.Match match = index.closest("Upload up to 10 files at once");
+
+        assertNotNull(match);
+        assertEquals("Upload up to 5 files at once", match.source());
+        assertNull(index.closest("Delete the selected printer driver"));
+    }
+
+    @Test
+    void textsTooShortToCompareAreNotIndexed() {
+        FuzzyMatchIndex index = new FuzzyMatchIndex(List.of("OK", "Cancel the upload"), List.of("OK", "Upload abbrechen"), 0.5);
+
+        assertEquals(1, index.size());
+        assertNull(index.closest("OK"));
+    }
+
+    @Test
+    void substituteReplacesVerbatimSpan() {
+        FuzzyMatchIndex.Match match = new FuzzyMatchIndex.Match("Upload up to 5 files at once",
+                "Laden Sie bis zu 5 Dateien gleichzeitig hoch", 0.8);
+
+        assertEquals("Laden Sie bis zu 10 Dateien gleichzeitig hoch",
+                FuzzyMatchIndex.substitute("Upload up to 10 files at once", match));
+    }
+
+    @Test
+    void substituteKeepsSharedPunctuationAndReplacesNames() {
+        FuzzyMatchIndex.Match match = new FuzzyMatchIndex.Match("Connected to Acme.",
+                "Verbunden mit Acme.", 0.6);
+
+        assertEquals("Verbunden mit Globex.", FuzzyMatchIndex.substitute("Connected to Globex.", match));
+    }
+
+    @Test
+    void substituteRejectsIdenticalSource() {
+        FuzzyMatchIndex.Match match = new FuzzyMatchIndex.Match("Upload up to 5 files at once",
+                "Laden Sie bis zu 5 Dateien gleichzeitig hoch", 1.0);
+
+        assertNull(FuzzyMatchIndex.substitute("Upload up to 5 files at once", match));
+    }
+
+    @Test
+    void substituteRejectsWordsTheTranslatorRewrites() {
+        FuzzyMatchIndex.Match match = new FuzzyMatchIndex.Match("Delete the selected file",
+                "Ausgewählte Datei löschen", 0.8);
+
+        assertNull(FuzzyMatchIndex.substitute("Delete the selected files", match));
+    }
+
+    @Test
+    void substituteRejectsSpanMissingOrRepeatedInTranslation() {
+        FuzzyMatchIndex.Match repeated = new FuzzyMatchIndex.Match("Retry 3 times within 3 minutes",
+                "3 Versuche innerhalb von 3 Minuten", 0.8);
+        FuzzyMatchIndex.Match missing = new FuzzyMatchIndex.Match("Upload up to 5 files at once",
+                "Laden Sie bis zu fünf Dateien gleichzeitig hoch", 0.8);
+
+        assertNull(FuzzyMatchIndex.substitute("Retry 3 times within 4 minutes", repeated));
+        assertNull(FuzzyMatchIndex.substitute("Upload up to 10 files at once", missing));
+    }
+
+    @Test
+    void substituteRejectsLongerSpans() {
+        FuzzyMatchIndex.Match match = new FuzzyMatchIndex.Match("Server 1 2 3 4 is down", "Server 1 2 3 4 ist ausgefallen", 0.6);
+
+        assertNull(FuzzyMatchIndex.substitute("Server 5 6 7 8 is down", match));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GlossaryIndexTest {
+
+    @Test
+    void findsLeftmostLongestMatchesWithoutOverlaps() {
+        GlossaryIndex index = new GlossaryIndex(List.of("Cloud", "Cloud Storage", "Storage"));
+
+        List<GlossaryIndex.Match> matches = index.findAll("Use Cloud Storage or Storage");
+
+        assertEquals(List.of(new GlossaryIndex.Match(4, 17, 1), new GlossaryIndex.Match(21, 28, 2)), matches);
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        GlossaryIndex index = new GlossaryIndex(List.of("Key"));
+
+        assertEquals(List.of(new GlossaryIndex.Match(9, 12, 0)), index.findAll("Keyboard Key Keys"));
+    }
+
+    @Test
+    void followsFailureLinksAfterPartialMatch() {
+        GlossaryIndex index = new GlossaryIndex(List.of("Smart Card", "Card"));
+
+        assertEquals(List.of(new GlossaryIndex.Match(11, 15, 1)), index.findAll("Smart Cart Card"));
+    }
+
+    @Test
+    void reportsTermsEndingInsideLongerTerms() {
+        GlossaryIndex index = new GlossaryIndex(List.of("Secure Boot Mode", "Boot"));
+
+        assertEquals(List.of(new GlossaryIndex.Match(7, 11, 1)), index.findAll("Secure Boot Menu"));
+    }
+
+    @Test
+    void termsWithPunctuationEdgesMatchInsideWords() {
+        GlossaryIndex index = new GlossaryIndex(List.of(".NET"));
+
+        assertEquals(List.of(new GlossaryIndex.Match(3, 7, 0)), index.findAll("ASP.NET"));
+    }
+
+    @Test
+    void firstDuplicateTermWins() {
+        GlossaryIndex index = new GlossaryIndex(List.of("API", "API"));
+
+        assertEquals(List.of(new GlossaryIndex.Match(4, 7, 0)), index.findAll("The API"));
+    }
+
+    @Test
+    void emptyTextAndEmptyGlossaryMatchNothing() {
+        assertEquals(List.of(), new GlossaryIndex(List.of("API")).findAll(""));
+        assertEquals(List.of(), new GlossaryIndex(List.of()).findAll("The API"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocalGlossaryTest {
+
+    @Test
+    void restoreReplacesPlaceholdersWithTargetTerms() throws IOException {
+        LocalGlossary glossary = glossary("EN,de\nCloud Storage,Cloud-Speicher\nbucket,Bucket\n");
+
+        LocalGlossary.Protected protectedText = glossary.protect("Create a bucket in Cloud Storage");
+        LocalGlossary.Applied applied = glossary.restore(protectedText, "Erstellen Sie einen {g0} in {g1}");
+
+        assertEquals("Create a {g0} in {g1}", protectedText.text());
+        assertEquals(new LocalGlossary.Applied("Erstellen Sie einen Bucket in Cloud-Speicher", 2, 0, 0), applied);
+    }
+
+    @Test
+    void restoreReportsDroppedOrRewrittenPlaceholdersAsMissing() throws IOException {
+        LocalGlossary glossary = glossary("EN,de\nCloud Storage,Cloud-Speicher\nbucket,Bucket\n");
+        LocalGlossary.Protected protectedText = glossary.protect("Create a bucket in Cloud Storage");
+
+        assertEquals(2, glossary.restore(protectedText, "Erstellen Sie einen Eimer in (g1)").missing());
+        assertEquals(1, glossary.restore(protectedText, "Erstellen Sie einen { g0 } im Speicher").missing());
+    }
+
+    @Test
+    void verifyRepairsUntranslatedTermsAndCountsMissingOnes() throws IOException {
+        LocalGlossary glossary = glossary("EN,de\nCloud Storage,Cloud-Speicher\nbucket,Bucket\n");
+
+        LocalGlossary.Applied applied = glossary.verify("Create a bucket in Cloud Storage", "Erstellen Sie einen Eimer in Cloud Storage");
+
+        assertEquals(new LocalGlossary.Applied("Erstellen Sie einen Eimer in Cloud-Speicher", 0, 1, 1), applied);
+    }
+
+    @Test
+    void textWithPlaceholderLookalikesIsSentUnprotected() throws IOException {
+        LocalGlossary glossary = glossary("EN,de\nbucket,Bucket\n");
+
+        LocalGlossary.Protected protectedText = glossary.protect("Copy {g0} to the bucket");
+
+        assertEquals("Copy {g0} to the bucket", protectedText.text());
+        assertEquals(0, protectedText.terms().length);
+    }
+
+    private static LocalGlossary glossary(String csv) throws IOException {
+        Path file = Files.createTempFile("glossary", ".csv");
+        try {
+            Files.writeString(file, csv, StandardCharsets.UTF_8);
+            return LocalGlossary.load(file, "de");
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
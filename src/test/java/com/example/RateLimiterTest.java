@@ -0,0 +1,42 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void fullBucketIsAvailableAtOnce() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(1000);
+
+        long start = System.nanoTime();
+        limiter.acquire(1000);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100);
+    }
+
+    @Test
+    void permitsBeyondBucketWaitForRefill() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(100);
+        limiter.acquire(100);
+
+        long start = System.nanoTime();
+        limiter.acquire(20);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 150);
+    }
+
+    @Test
+    void zeroRateIsUnlimited() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(0);
+
+        long start = System.nanoTime();
+        limiter.acquire(Integer.MAX_VALUE);
+        limiter.acquire(Integer.MAX_VALUE);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SentenceSegmenterTest {
+    private final SentenceSegmenter segmenter = new SentenceSegmenter(List.of("e.g.", " Dr. ", ""));
+
+    @Test
+    void splitsAtTerminatorFollowedBySentenceStart() {
+        assertEquals(List.of("Save the file.", "Then close it!", "Done?"), segmenter.split("Save the file. Then close it! Done?"));
+    }
+
+    @Test
+    void keepsSingleSentenceAndEmptyText() {
+        assertEquals(List.of("Save the file"), segmenter.split("Save the file"));
+        assertEquals(List.of(""), segmenter.split(""));
+    }
+
+    @Test
+    void doesNotSplitBeforeLowercaseOrInsideNumbers() {
+        assertEquals(List.of("Version 2.0 is out. see the notes."), segmenter.split("Version 2.0 is out. see the notes."));
+    }
+
+    @Test
+    void doesNotSplitAfterAbbreviationsOrInitials() {
+        assertEquals(List.of("Use a tool, e.g. Gradle to build."), segmenter.split("Use a tool, e.g. Gradle to build."));
+        assertEquals(List.of("Ask (Dr. Smith) first."), segmenter.split("Ask (Dr. Smith) first."));
+        assertEquals(List.of("Contact J. Smith today."), segmenter.split("Contact J. Smith today."));
+    }
+
+    @Test
+    void keepsPlaceholdersAndMarkupWhole() {
+        assertEquals(List.of("You have {0,choice,0#no files. Sorry|1#one file}.", "Continue?"),
+                segmenter.split("You have {0,choice,0#no files. Sorry|1#one file}. Continue?"));
+        assertEquals(List.of("<b>Warning. Read this</b> now.", "Then <br> Go."),
+                segmenter.split("<b>Warning. Read this</b> now. Then <br> Go."));
+        assertEquals(List.of("If x < 10.", "Then stop."), segmenter.split("If x < 10. Then stop."));
+    }
+
+    @Test
+    void includesRepeatedTerminatorsAndClosingQuotes() {
+        assertEquals(List.of("He said \"Stop!\"", "Then left."), segmenter.split("He said \"Stop!\" Then left."));
+        assertEquals(List.of("Really?!", "Yes."), segmenter.split("Really?! Yes."));
+    }
+
+    @Test
+    void splitsAndJoinsFullWidthSentencesWithoutSpaces() {
+        List<String> sentences = segmenter.split("保存しました。閉じます。");
+
+        assertEquals(List.of("保存しました。", "閉じます。"), sentences);
+        assertEquals("保存しました。閉じます。", SentenceSegmenter.join(sentences));
+    }
+
+    @Test
+    void joinSeparatesLatinSentencesAndSkipsEmptyOnes() {
+        assertEquals("Save the file. Then close it.", SentenceSegmenter.join(List.of("Save the file.", "", "Then close it.")));
+    }
+}